@@ -5,7 +5,7 @@ import java.time.LocalDateTime;
 import snow.exception.SnowException;
 import snow.exception.SnowTaskException;
 import snow.io.Parser;
-import snow.io.Storage;
+import snow.io.StorageBackend;
 import snow.io.Ui;
 import snow.model.Deadline;
 import snow.model.Event;
@@ -77,7 +77,7 @@ public class AddCommand extends Command {
     }
 
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws SnowException {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException {
         resetString();
         if (description == null || description.isBlank()) {
             throw SnowTaskException.emptyDescription(this.type.toString());
@@ -92,7 +92,7 @@ public class AddCommand extends Command {
         };
         task.setPlace(place);
         tasks.add(task);
-        storage.save(tasks);
+        storage.recordAdd(tasks, task);
         command.append(ADD).append('\n').append("  ").append(task).append('\n')
                 .append("Now you have ").append(tasks.size());
         if (tasks.size() == 1) {
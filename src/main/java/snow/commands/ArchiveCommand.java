@@ -0,0 +1,56 @@
+package snow.commands;
+
+import java.time.LocalDate;
+
+import snow.exception.SnowException;
+import snow.exception.SnowInvalidCommandException;
+import snow.io.StorageBackend;
+import snow.io.Ui;
+import snow.model.TaskList;
+
+/**
+ * Represents the Archive command, which moves old completed tasks into the compressed archive.
+ */
+public class ArchiveCommand extends Command {
+
+    /** Age in days after which completed tasks are archived when none is given. */
+    public static final int DEFAULT_AGE_DAYS = 30;
+
+    private final int ageDays;
+
+    /**
+     * Constructs an ArchiveCommand with the given description.
+     * @param description The minimum age in days of the tasks to archive, or blank for the default
+     * @throws SnowException if the description is not a non-negative number
+     */
+    public ArchiveCommand(String description) throws SnowException {
+        if (description == null || description.isBlank()) {
+            ageDays = DEFAULT_AGE_DAYS;
+            return;
+        }
+        try {
+            ageDays = Integer.parseInt(description.trim());
+        } catch (NumberFormatException e) {
+            throw new SnowInvalidCommandException("archive " + description.trim());
+        }
+        if (ageDays < 0) {
+            throw new SnowInvalidCommandException("archive " + description.trim());
+        }
+    }
+
+
+    @Override
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException {
+        resetString();
+        int archived = storage.archive(tasks, LocalDate.now().minusDays(ageDays));
+        command.append("Archived ").append(archived).append(" completed tasks older than ")
+                .append(ageDays).append(" days.").append('\n')
+                .append("Now you have ").append(tasks.size()).append(" tasks in your list");
+        ui.printArchive(archived, ageDays, tasks.size());
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+package snow.commands;
+
+import snow.exception.SnowException;
+import snow.io.StorageBackend;
+import snow.io.Ui;
+import snow.model.TaskList;
+
+/**
+ * Represents a step of a {@code begin} ... {@code commit} block, which only reports
+ * on the block; see {@link TransactionBlock}.
+ */
+public class BlockCommand extends Command {
+
+    /**
+     * The step of a block.
+     */
+    public enum Step {
+        BEGIN,
+        QUEUE,
+        COMMIT,
+        ROLLBACK
+    }
+
+    private final Step step;
+    private final int count;
+
+    private BlockCommand(Step step, int count) {
+        this.step = step;
+        this.count = count;
+    }
+
+    /**
+     * Creates the command that opens a block.
+     * @return A BlockCommand for 'begin'
+     */
+    public static BlockCommand begin() {
+        return new BlockCommand(Step.BEGIN, 0);
+    }
+
+    /**
+     * Creates the command that runs the commands queued in a block.
+     * @return A BlockCommand for 'commit'
+     */
+    public static BlockCommand commit() {
+        return new BlockCommand(Step.COMMIT, 0);
+    }
+
+    /**
+     * Creates the command that drops the commands queued in a block.
+     * @return A BlockCommand for 'rollback'
+     */
+    public static BlockCommand rollback() {
+        return new BlockCommand(Step.ROLLBACK, 0);
+    }
+
+    /**
+     * Creates a command reporting that a command was queued, or that queued commands were dropped.
+     * @param step {@link Step#QUEUE} or {@link Step#ROLLBACK}
+     * @param count The number of commands queued or dropped
+     * @return A BlockCommand reporting the step
+     */
+    static BlockCommand report(Step step, int count) {
+        return new BlockCommand(step, count);
+    }
+
+    public Step getStep() {
+        return step;
+    }
+
+    @Override
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException {
+        resetString();
+        switch (step) {
+        case BEGIN:
+            command.append("Started a transaction. Commands are queued until you 'commit' or 'rollback'.");
+            break;
+        case QUEUE:
+            command.append("Queued. ").append(count).append(count == 1 ? " command" : " commands")
+                    .append(" will run when you 'commit'.");
+            break;
+        case COMMIT:
+            command.append("Nothing to commit.");
+            break;
+        default:
+            command.append("Rolled back. ").append(count).append(count == 1 ? " command was" : " commands were")
+                    .append(" dropped.");
+            break;
+        }
+        ui.print(command.toString());
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return false;
+    }
+}
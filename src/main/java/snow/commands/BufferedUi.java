@@ -0,0 +1,38 @@
+package snow.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.function.Consumer;
+
+import snow.io.Ui;
+
+/**
+ * Holds back what commands print, so that a {@link TransactionCommand} shows it only
+ * once every command has succeeded. Reads no input.
+ */
+class BufferedUi extends Ui {
+    private final List<Consumer<Ui>> output = new ArrayList<>();
+
+    BufferedUi() {
+        super(new Scanner(""));
+    }
+
+    @Override
+    public void print(String message) {
+        output.add(ui -> ui.print(message));
+    }
+
+    @Override
+    public void printLine() {
+        output.add(Ui::printLine);
+    }
+
+    /** Prints everything held back to {@code ui}, in order. */
+    void printTo(Ui ui) {
+        for (Consumer<Ui> line : output) {
+            line.accept(ui);
+        }
+        output.clear();
+    }
+}
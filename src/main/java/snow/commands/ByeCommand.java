@@ -1,7 +1,7 @@
 package snow.commands;
 
 import snow.exception.SnowException;
-import snow.io.Storage;
+import snow.io.StorageBackend;
 import snow.io.Ui;
 import snow.model.TaskList;
 
@@ -13,8 +13,9 @@ public class ByeCommand extends Command {
     private static final String BYE = "Bye! Stay cool and see u again soon!";
 
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws SnowException {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException {
         resetString();
+        storage.flush();
         command.append(BYE);
         ui.printBye();
     }
@@ -23,4 +24,9 @@ public class ByeCommand extends Command {
     public boolean isExit() {
         return true;
     }
+
+    @Override
+    public boolean isTransactional() {
+        return false;
+    }
 }
@@ -1,8 +1,11 @@
 package snow.commands;
 
+import java.util.List;
+
 import snow.exception.SnowException;
-import snow.io.Storage;
+import snow.io.StorageBackend;
 import snow.io.Ui;
+import snow.model.Task;
 import snow.model.TaskList;
 
 /**
@@ -10,6 +13,8 @@ import snow.model.TaskList;
  */
 public abstract class Command {
 
+    private static final String ARCHIVED = "Also found in the archive:";
+
     protected StringBuilder command;
     /**
      * Executes the commands
@@ -17,12 +22,21 @@ public abstract class Command {
      * @param ui The user interface for inputs and outputs
      * @param storage The storage to save existing data
      */
-    public abstract void execute(TaskList tasks, Ui ui, Storage storage) throws SnowException;
+    public abstract void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException;
 
     public boolean isExit() {
         return false;
     }
 
+    /**
+     * Returns whether the command can run inside a {@link TransactionCommand}, which holds back
+     * its recorded changes and undoes them if a later command fails. Commands that write to
+     * storage by other means, or that end the session, cannot.
+     */
+    public boolean isTransactional() {
+        return true;
+    }
+
     /**
      * Gets the String of the command.
      * @return The String represents the command
@@ -31,6 +45,20 @@ public abstract class Command {
         return command.toString();
     }
 
+    /**
+     * Appends archived search results, if any, after the main results.
+     * @param archived The archived tasks that matched
+     */
+    protected void appendArchived(List<Task> archived) {
+        if (archived.isEmpty()) {
+            return;
+        }
+        command.append("\n").append(ARCHIVED);
+        for (Task task : archived) {
+            command.append("\n").append("  - ").append(task);
+        }
+    }
+
     /**
      * Resets command string.
      */
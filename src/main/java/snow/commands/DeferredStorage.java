@@ -0,0 +1,101 @@
+package snow.commands;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import snow.exception.SnowFileException;
+import snow.exception.SnowTransactionException;
+import snow.io.LoadReport;
+import snow.io.StorageBackend;
+import snow.io.TransferReport;
+import snow.model.Task;
+import snow.model.TaskList;
+
+/**
+ * Passes reads through to another backend but only notes the changes recorded to it,
+ * so that a {@link TransactionCommand} can write them all with one save at the end.
+ * Operations that write to storage by other means are refused.
+ */
+class DeferredStorage implements StorageBackend {
+    private final StorageBackend storage;
+    private boolean hasChanges;
+
+    DeferredStorage(StorageBackend storage) {
+        this.storage = storage;
+    }
+
+    /** Returns whether any change has been recorded. */
+    boolean hasChanges() {
+        return hasChanges;
+    }
+
+    @Override
+    public LoadReport load(TaskList taskList) throws SnowFileException {
+        return storage.load(taskList);
+    }
+
+    @Override
+    public void save(TaskList taskList) {
+        hasChanges = true;
+    }
+
+    @Override
+    public void recordAdd(TaskList taskList, Task task) {
+        hasChanges = true;
+    }
+
+    @Override
+    public void recordMark(TaskList taskList, int index) {
+        hasChanges = true;
+    }
+
+    @Override
+    public void recordUnmark(TaskList taskList, int index) {
+        hasChanges = true;
+    }
+
+    @Override
+    public void recordDelete(TaskList taskList, int index, Task removed) {
+        hasChanges = true;
+    }
+
+    @Override
+    public void flush() {
+        // Nothing is written until the transaction commits
+    }
+
+    @Override
+    public void loadDate(TaskList taskList, LocalDate date) throws SnowFileException {
+        storage.loadDate(taskList, date);
+    }
+
+    @Override
+    public void loadAll(TaskList taskList) throws SnowFileException {
+        storage.loadAll(taskList);
+    }
+
+    @Override
+    public int archive(TaskList taskList, LocalDate cutoff) throws SnowTransactionException {
+        throw SnowTransactionException.notAllowed("archive");
+    }
+
+    @Override
+    public List<Task> findArchived(String keyword) throws SnowFileException {
+        return storage.findArchived(keyword);
+    }
+
+    @Override
+    public List<Task> findArchivedOnDate(LocalDate date) throws SnowFileException {
+        return storage.findArchivedOnDate(date);
+    }
+
+    @Override
+    public TransferReport importTasks(TaskList taskList, String path) throws SnowTransactionException {
+        throw SnowTransactionException.notAllowed("import");
+    }
+
+    @Override
+    public TransferReport exportTasks(TaskList taskList, String path) throws SnowTransactionException {
+        throw SnowTransactionException.notAllowed("export");
+    }
+}
@@ -2,7 +2,7 @@ package snow.commands;
 
 import snow.exception.SnowException;
 import snow.exception.SnowTaskException;
-import snow.io.Storage;
+import snow.io.StorageBackend;
 import snow.io.Ui;
 import snow.model.Task;
 import snow.model.TaskList;
@@ -35,13 +35,14 @@ public class DeleteCommand extends Command {
 
 
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws SnowException {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException {
         resetString();
+        storage.loadAll(tasks);
         if (index >= tasks.size() || index < 0) {
             throw SnowTaskException.invalidIndex(index + 1, tasks.size());
         }
         Task removed = tasks.remove(index);
-        storage.save(tasks);
+        storage.recordDelete(tasks, index, removed);
         command.append(DELETE).append('\n').append("  ").append(removed).append('\n')
                 .append("Now you have ").append(tasks.size()).append(" tasks in your list");
         ui.printDelete(removed, tasks.size());
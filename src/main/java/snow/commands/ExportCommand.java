@@ -0,0 +1,48 @@
+package snow.commands;
+
+import java.nio.file.Paths;
+
+import snow.exception.SnowException;
+import snow.exception.SnowInvalidCommandException;
+import snow.io.StorageBackend;
+import snow.io.TaskTransfer;
+import snow.io.TransferReport;
+import snow.io.Ui;
+import snow.model.TaskList;
+
+/**
+ * Represents the Export command, which exports every task in the list to a CSV or JSON Lines file.
+ */
+public class ExportCommand extends Command {
+
+    private final String path;
+
+    /**
+     * Constructs an ExportCommand with the given description.
+     * @param description The path of a .csv, .jsonl or .ndjson file
+     * @throws SnowException if the path is missing or has an unsupported extension
+     */
+    public ExportCommand(String description) throws SnowException {
+        if (description == null || description.isBlank()
+                || !TaskTransfer.isSupported(Paths.get(description.trim()))) {
+            throw new SnowInvalidCommandException("export " + (description == null ? "" : description.trim()));
+        }
+        this.path = description.trim();
+    }
+
+
+    @Override
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException {
+        resetString();
+        TransferReport report = storage.exportTasks(tasks, path);
+        command.append("Exported ").append(report.getRecordCount()).append(" tasks to ").append(path)
+                .append(" in ").append(report.getMillis()).append(" ms, ").append(report.getRecordsPerSecond())
+                .append(" tasks/s.");
+        ui.printExport(report, path);
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package snow.commands;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import snow.exception.SnowException;
+import snow.io.StorageBackend;
+import snow.io.Ui;
+import snow.model.Task;
+import snow.model.TaskList;
+
+/**
+ * Represents the FindBetween command, which lists the tasks falling within a range of days.
+ */
+public class FindBetweenCommand extends Command {
+
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Constructs a FindBetweenCommand for the given range.
+     * @param from The first day of the range
+     * @param to The last day of the range, not before {@code from}
+     */
+    public FindBetweenCommand(LocalDate from, LocalDate to) {
+        assert !from.isAfter(to) : "Range must not end before it starts";
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException {
+        resetString();
+        storage.loadAll(tasks);
+        List<Task> tasksFound = tasks.findTasksBetween(from, to);
+        command.append("Here are the tasks from ").append(from).append(" to ").append(to).append(":");
+        if (tasksFound.size() == 0) {
+            command.append("\n").append("No tasks found from " + from + " to " + to + ".");
+        } else {
+            for (int i = 0; i < tasksFound.size(); ++i) {
+                command.append("\n").append("  ").append(i + 1).append(".").append(tasksFound.get(i));
+            }
+        }
+        ui.printTasksBetween(tasksFound, from, to);
+    }
+}
@@ -4,13 +4,16 @@ import java.time.LocalDate;
 import java.util.List;
 
 import snow.exception.SnowException;
-import snow.io.Storage;
+import snow.io.StorageBackend;
 import snow.io.Ui;
 import snow.model.Task;
 import snow.model.TaskList;
 
 /**
  * Represents the FindByDate command.
+ *
+ * <p>Live tasks are found through {@link StorageBackend#findByDate(TaskList, LocalDate)}, which
+ * answers from the task list's in-memory date index.
  */
 public class FindByDateCommand extends Command {
 
@@ -28,9 +31,10 @@ public class FindByDateCommand extends Command {
 
 
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws SnowException {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException {
         resetString();
-        List<Task> tasksFound = tasks.findTaskWithDate(date);
+        List<Task> tasksFound = storage.findByDate(tasks, date);
+        List<Task> archivedFound = storage.findArchivedOnDate(date);
         command.append(FIND_DATE);
         if (tasksFound.size() == 0) {
             command.append("\n").append("No tasks found on " + date + ".");
@@ -39,6 +43,8 @@ public class FindByDateCommand extends Command {
                 command.append("\n").append("  ").append(i + 1).append(".").append(tasksFound.get(i));
             }
         }
+        appendArchived(archivedFound);
         ui.printFind(tasksFound);
+        ui.printArchived(archivedFound);
     }
 }
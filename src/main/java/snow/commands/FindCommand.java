@@ -1,35 +1,53 @@
 package snow.commands;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import snow.exception.SnowException;
-import snow.io.Storage;
+import snow.io.StorageBackend;
 import snow.io.Ui;
 import snow.model.Task;
 import snow.model.TaskList;
 
 /**
  * Represents the Find command.
+ *
+ * <p>{@code find KEYWORD} matches descriptions containing the keyword anywhere.
+ * {@code find /w WORDS} matches descriptions containing each of the words as a whole word,
+ * and is answered from the task list's word index instead of scanning every task.
  */
 public class FindCommand extends Command {
 
     private static final String FIND = "Here are the matching tasks in your list:";
+    private static final String WHOLE_WORDS = "/w";
 
     private final String pattern;
+    private final boolean isWholeWords;
 
     /**
      * Constructs a FindCommand with the given pattern.
-     * @param pattern The pattern to search for in task descriptions
+     * @param pattern The pattern to search for in task descriptions, or {@code /w} followed by whole words
      */
     public FindCommand(String pattern) {
-        this.pattern = pattern;
+        String trimmed = pattern.trim();
+        this.isWholeWords = trimmed.equals(WHOLE_WORDS) || trimmed.startsWith(WHOLE_WORDS + " ");
+        this.pattern = isWholeWords ? trimmed.substring(WHOLE_WORDS.length()).trim() : pattern;
     }
 
 
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws SnowException {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException {
         resetString();
-        List<Task> tasksFound = tasks.find(pattern);
+        storage.loadAll(tasks);
+        List<Task> tasksFound;
+        List<Task> archivedFound;
+        if (isWholeWords) {
+            tasksFound = tasks.findWords(pattern);
+            archivedFound = findArchivedWords(storage);
+        } else {
+            tasksFound = tasks.find(pattern);
+            archivedFound = storage.findArchived(pattern);
+        }
         command.append(FIND);
         if (tasksFound.size() == 0) {
             command.append("\n").append("No matching tasks found.");
@@ -38,6 +56,26 @@ public class FindCommand extends Command {
                 command.append("\n").append("  ").append(i + 1).append(".").append(tasksFound.get(i));
             }
         }
+        appendArchived(archivedFound);
         ui.printFind(tasksFound);
+        ui.printArchived(archivedFound);
+    }
+
+    /**
+     * Returns the archived tasks containing every word of the pattern, by narrowing
+     * the archive's keyword search for the first word.
+     */
+    private List<Task> findArchivedWords(StorageBackend storage) throws SnowException {
+        List<String> words = TaskList.splitWords(pattern);
+        List<Task> found = new ArrayList<>();
+        if (words.isEmpty()) {
+            return found;
+        }
+        for (Task task : storage.findArchived(words.get(0))) {
+            if (TaskList.containsWords(task, pattern)) {
+                found.add(task);
+            }
+        }
+        return found;
     }
 }
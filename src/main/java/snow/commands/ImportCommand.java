@@ -0,0 +1,50 @@
+package snow.commands;
+
+import java.nio.file.Paths;
+
+import snow.exception.SnowException;
+import snow.exception.SnowInvalidCommandException;
+import snow.io.StorageBackend;
+import snow.io.TaskTransfer;
+import snow.io.TransferReport;
+import snow.io.Ui;
+import snow.model.TaskList;
+
+/**
+ * Represents the Import command, which imports the tasks in a CSV or JSON Lines file into the list.
+ */
+public class ImportCommand extends Command {
+
+    private final String path;
+
+    /**
+     * Constructs an ImportCommand with the given description.
+     * @param description The path of a .csv, .jsonl or .ndjson file
+     * @throws SnowException if the path is missing or has an unsupported extension
+     */
+    public ImportCommand(String description) throws SnowException {
+        if (description == null || description.isBlank()
+                || !TaskTransfer.isSupported(Paths.get(description.trim()))) {
+            throw new SnowInvalidCommandException("import " + (description == null ? "" : description.trim()));
+        }
+        this.path = description.trim();
+    }
+
+
+    @Override
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException {
+        resetString();
+        TransferReport report = storage.importTasks(tasks, path);
+        command.append("Imported ").append(report.getRecordCount()).append(" tasks from ").append(path)
+                .append(" (").append(report.getSkippedCount()).append(" skipped) in ")
+                .append(report.getMillis()).append(" ms, ").append(report.getRecordsPerSecond())
+                .append(" tasks/s.").append('\n')
+                .append("Now you have ").append(tasks.size()).append(" tasks in your list");
+        ui.printImport(report, path, tasks.size());
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return false;
+    }
+}
@@ -1,6 +1,7 @@
 package snow.commands;
 
-import snow.io.Storage;
+import snow.exception.SnowFileException;
+import snow.io.StorageBackend;
 import snow.io.Ui;
 import snow.model.TaskList;
 
@@ -13,8 +14,9 @@ public class ListCommand extends Command {
 
 
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowFileException {
         resetString();
+        storage.loadAll(tasks);
         command.append(LIST);
         if (tasks.size() == 0) {
             command.append("\n").append("No tasks in your list yet.");
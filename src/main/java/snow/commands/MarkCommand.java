@@ -2,7 +2,7 @@ package snow.commands;
 
 import snow.exception.SnowException;
 import snow.exception.SnowTaskException;
-import snow.io.Storage;
+import snow.io.StorageBackend;
 import snow.io.Ui;
 import snow.model.TaskList;
 
@@ -34,13 +34,14 @@ public class MarkCommand extends Command {
 
 
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws SnowException {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException {
         resetString();
+        storage.loadAll(tasks);
         if (index >= tasks.size() || index < 0) {
             throw SnowTaskException.invalidIndex(index + 1, tasks.size());
         }
         tasks.mark(index);
-        storage.save(tasks);
+        storage.recordMark(tasks, index);
         command.append(MARK).append('\n').append(tasks.get(index));
         ui.printMark(tasks.get(index));
     }
@@ -0,0 +1,34 @@
+package snow.commands;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import snow.exception.SnowException;
+import snow.io.StorageBackend;
+import snow.io.Ui;
+import snow.model.Task;
+import snow.model.TaskList;
+
+/**
+ * Represents the Overdue command, which lists the undone tasks whose time has passed.
+ */
+public class OverdueCommand extends Command {
+
+    private static final String OVERDUE = "Here are your overdue tasks:";
+
+    @Override
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException {
+        resetString();
+        storage.loadAll(tasks);
+        List<Task> tasksFound = tasks.findOverdue(LocalDateTime.now());
+        command.append(OVERDUE);
+        if (tasksFound.size() == 0) {
+            command.append("\n").append("Nothing is overdue.");
+        } else {
+            for (int i = 0; i < tasksFound.size(); ++i) {
+                command.append("\n").append("  ").append(i + 1).append(".").append(tasksFound.get(i));
+            }
+        }
+        ui.printOverdue(tasksFound);
+    }
+}
@@ -3,7 +3,7 @@ package snow.commands;
 import java.util.List;
 
 import snow.exception.SnowException;
-import snow.io.Storage;
+import snow.io.StorageBackend;
 import snow.io.Ui;
 import snow.model.Place;
 import snow.model.PlaceRegistry;
@@ -17,7 +17,7 @@ public class PlacesCommand extends Command {
     private static final String PLACES_MESSAGE = "Here are all the saved places:";
 
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws SnowException {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException {
         resetString();
         List<Place> places = PlaceRegistry.getPlaces();
 
@@ -0,0 +1,67 @@
+package snow.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import snow.exception.SnowException;
+import snow.exception.SnowTransactionException;
+
+/**
+ * Tracks a {@code begin} ... {@code commit} block across separate inputs.
+ *
+ * <p>Outside a block, commands pass through unchanged. After {@code begin}, each command is
+ * queued instead of run, and {@code commit} turns the queue into one {@link TransactionCommand};
+ * {@code rollback} drops it.
+ */
+public class TransactionBlock {
+    private List<Command> queued;
+
+    /**
+     * Returns the command to run for {@code c}, the command parsed from {@code input}.
+     *
+     * @throws SnowTransactionException if {@code c} cannot be queued, or is a step out of place
+     */
+    public Command route(Command c, String input) throws SnowException {
+        if (c instanceof BlockCommand) {
+            return routeStep((BlockCommand) c);
+        }
+        if (queued == null) {
+            return c;
+        }
+        if (!c.isTransactional()) {
+            throw SnowTransactionException.notAllowed(input.trim());
+        }
+        queued.add(c);
+        return BlockCommand.report(BlockCommand.Step.QUEUE, queued.size());
+    }
+
+    /** Returns whether a block is open. */
+    public boolean isOpen() {
+        return queued != null;
+    }
+
+    private Command routeStep(BlockCommand step) throws SnowException {
+        switch (step.getStep()) {
+        case BEGIN:
+            if (queued != null) {
+                throw SnowTransactionException.alreadyStarted();
+            }
+            queued = new ArrayList<>();
+            return step;
+        case COMMIT:
+            List<Command> commands = close("commit");
+            return commands.isEmpty() ? step : new TransactionCommand(commands);
+        default:
+            return BlockCommand.report(BlockCommand.Step.ROLLBACK, close("rollback").size());
+        }
+    }
+
+    private List<Command> close(String commandName) throws SnowException {
+        if (queued == null) {
+            throw SnowTransactionException.notStarted(commandName);
+        }
+        List<Command> commands = queued;
+        queued = null;
+        return commands;
+    }
+}
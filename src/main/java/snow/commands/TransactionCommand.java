@@ -0,0 +1,86 @@
+package snow.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import snow.exception.SnowException;
+import snow.exception.SnowFileException;
+import snow.exception.SnowTransactionException;
+import snow.io.StorageBackend;
+import snow.io.Ui;
+import snow.model.PlaceRegistry;
+import snow.model.TaskList;
+
+/**
+ * Represents several commands run as one all-or-nothing transaction.
+ *
+ * <p>The commands run in order against the task list, but the changes they record are held
+ * back and written with a single {@link StorageBackend#save(TaskList)} once all of them have
+ * succeeded. What the commands print is held back the same way, and shown only then. If any
+ * command fails, or the save does, the list is restored from a snapshot taken before the first
+ * command, and places first named by the commands are dropped, so memory and storage stay in step.
+ */
+public class TransactionCommand extends Command {
+
+    private final List<Command> commands;
+
+    /**
+     * Constructs a TransactionCommand that runs the given commands in order.
+     * @param commands The commands, each of which must be {@link Command#isTransactional() transactional}
+     */
+    public TransactionCommand(List<Command> commands) {
+        assert commands.stream().allMatch(Command::isTransactional) : "Transactions cannot hold " + commands;
+        this.commands = new ArrayList<>(commands);
+    }
+
+    /**
+     * Returns the number of commands in the transaction.
+     */
+    public int size() {
+        return commands.size();
+    }
+
+    @Override
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws SnowException {
+        resetString();
+        storage.loadAll(tasks);
+        TaskList before = tasks.snapshot();
+        int placeCount = PlaceRegistry.getPlaces().size();
+        DeferredStorage deferred = new DeferredStorage(storage);
+        BufferedUi output = new BufferedUi();
+        boolean isApplied = false;
+        try {
+            for (int i = 0; i < commands.size(); i++) {
+                Command c = commands.get(i);
+                try {
+                    c.execute(tasks, output, deferred);
+                } catch (SnowException e) {
+                    throw SnowTransactionException.failed(i + 1, commands.size(), e.getMessage());
+                }
+                if (i > 0) {
+                    command.append("\n\n");
+                }
+                command.append(c.getString());
+            }
+            if (deferred.hasChanges()) {
+                try {
+                    storage.save(tasks);
+                } catch (SnowFileException e) {
+                    throw SnowTransactionException.notSaved(e.getMessage());
+                }
+            }
+            isApplied = true;
+            output.printTo(ui);
+        } finally {
+            if (!isApplied) {
+                tasks.restore(before);
+                PlaceRegistry.keepFirst(placeCount);
+            }
+        }
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return false;
+    }
+}
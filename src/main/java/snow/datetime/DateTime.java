@@ -3,8 +3,8 @@ package snow.datetime;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 import snow.exception.SnowException;
 import snow.exception.SnowInvalidDateException;
@@ -19,15 +19,11 @@ public final class DateTime {
     // default time
     public static final LocalTime DEFAULT_TIME = LocalTime.of(23, 59);
 
-    // input formats
-    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter DATE_ALT = DateTimeFormatter.ofPattern("d/M/yyyy");
-    private static final DateTimeFormatter DT_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-    private static final DateTimeFormatter DT_ALT = DateTimeFormatter.ofPattern("d/M/yyyy HH:mm");
+    private static final int MAX_DIGITS = 9;
+    private static final int HOURS_PER_DAY = 24;
 
-    // List of formats
-    private static final List<DateTimeFormatter> DATETIME_FORMATS = List.of(DT_FMT, DT_ALT);
-    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(DATE_FMT, DATE_ALT);
+    // Earliest and latest accepted datetimes, recomputed once a day
+    private static volatile Bounds bounds;
 
     private DateTime() {
 
@@ -36,6 +32,11 @@ public final class DateTime {
     /**
      * Parse a task: accept datetime or date.
      * If only a date is given, default to 23:59 (end of day).
+     *
+     * <p>Accepted shapes are {@code yyyy-MM-dd} and {@code d/M/yyyy}, each optionally followed by
+     * {@code HH:mm}. The shape is recognised and the value built in one scan of the input, with the
+     * same results the matching {@code DateTimeFormatter} patterns would give, including moving an
+     * out-of-range day such as 30 February back to the end of the month.
      */
     public static LocalDateTime parse(String input) throws SnowException {
         if (input == null) {
@@ -52,74 +53,169 @@ public final class DateTime {
             throw new SnowInvalidDateException(input);
         }
 
-        // Remove any extra whitespace around separators
-        input = input.replaceAll("\\s+", " ");
-
-        LocalDateTime dt = tryFormats(input, DATETIME_FORMATS, true);
-        if (dt != null) {
-            validateDateTime(dt);
-            return dt;
-        }
-        LocalDateTime d = tryFormats(input, DATE_FORMATS, false);
-        if (d != null) {
-            validateDateTime(d);
-            return d;
+        LocalDateTime dt = recognize(input);
+        if (dt == null) {
+            // Report the input with extra whitespace removed
+            throw new SnowInvalidDateException(collapseWhitespace(input));
         }
-        throw new SnowInvalidDateException(input);
+        validateDateTime(dt);
+        return dt;
     }
 
     /**
      * Validates that a datetime is reasonable (not too far in past/future, valid date).
      */
     private static void validateDateTime(LocalDateTime dateTime) throws SnowInvalidDateException {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime minDate = now.minusYears(100);
-        LocalDateTime maxDate = now.plusYears(100);
-
-        if (dateTime.isBefore(minDate)) {
+        Bounds current = currentBounds();
+        if (dateTime.isBefore(current.min)) {
             throw new SnowInvalidDateException("date too far in past");
         }
-        if (dateTime.isAfter(maxDate)) {
+        if (dateTime.isAfter(current.max)) {
             throw new SnowInvalidDateException("date too far in future");
         }
     }
+
     /**
-     * Attempts to parse input as LocalDateTime using available formats.
+     * Returns the accepted range, 100 years either side of today, computing it on the first call each day.
      */
-    private static LocalDateTime tryParseDateTime(String input, DateTimeFormatter format) {
-        try {
-            return LocalDateTime.parse(input, format);
-        } catch (Exception e) {
-            return null;
+    private static Bounds currentBounds() {
+        Bounds current = bounds;
+        if (current == null || System.currentTimeMillis() >= current.expiresAtMillis) {
+            LocalDate today = LocalDate.now();
+            long tomorrow = today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            current = new Bounds(today.minusYears(100).atStartOfDay(),
+                    today.plusYears(100).atTime(LocalTime.MAX), tomorrow);
+            bounds = current;
         }
+        return current;
     }
 
     /**
-     * Attempts to parse input as LocalDate and convert to LocalDateTime.
+     * Recognises {@code yyyy-MM-dd} or {@code d/M/yyyy}, optionally followed by whitespace and {@code HH:mm}.
+     *
+     * @return the datetime, or {@code null} if the input has another shape or is not a valid date
      */
-    private static LocalDateTime tryParseDate(String input, DateTimeFormatter format) {
-        try {
-            return LocalDate.parse(input, format).atTime(DEFAULT_TIME);
-        } catch (Exception e) {
+    private static LocalDateTime recognize(String s) {
+        int n = s.length();
+        int first = skipDigits(s, 0);
+        if (first == 0 || first == n) {
+            return null;
+        }
+
+        int year;
+        int month;
+        int day;
+        int end;
+        if (s.charAt(first) == '-') {
+            // yyyy-MM-dd: at least four year digits, then exactly two each for month and day
+            end = first + 6;
+            if (first < 4 || end > n || s.charAt(first + 3) != '-') {
+                return null;
+            }
+            year = number(s, 0, first);
+            month = number(s, first + 1, first + 3);
+            day = number(s, first + 4, end);
+        } else if (s.charAt(first) == '/') {
+            // d/M/yyyy: day and month of any width, at least four year digits
+            int second = skipDigits(s, first + 1);
+            if (second == first + 1 || second == n || s.charAt(second) != '/') {
+                return null;
+            }
+            end = skipDigits(s, second + 1);
+            if (end - second - 1 < 4) {
+                return null;
+            }
+            day = number(s, 0, first);
+            month = number(s, first + 1, second);
+            year = number(s, second + 1, end);
+        } else {
+            return null;
+        }
+
+        int hour = DEFAULT_TIME.getHour();
+        int minute = DEFAULT_TIME.getMinute();
+        if (end < n) {
+            int time = end;
+            while (time < n && isWhitespace(s.charAt(time))) {
+                time++;
+            }
+            if (time == end || n - time != 5 || s.charAt(time + 2) != ':') {
+                return null;
+            }
+            hour = number(s, time, time + 2);
+            minute = number(s, time + 3, time + 5);
+            if (hour < 0 || minute < 0 || minute > 59 || hour > HOURS_PER_DAY
+                    || (hour == HOURS_PER_DAY && minute != 0)) {
+                return null;
+            }
+        }
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
             return null;
         }
+
+        LocalDate date = LocalDate.of(year, month, 1);
+        date = date.withDayOfMonth(Math.min(day, date.lengthOfMonth()));
+        if (hour == HOURS_PER_DAY) {
+            // 24:00 is midnight at the end of the day
+            return date.plusDays(1).atStartOfDay();
+        }
+        return date.atTime(hour, minute);
     }
 
     /**
-     * Attempts to parse input with list of formats
+     * Returns the index of the first character at or after {@code from} that is not an ASCII digit.
      */
-    private static LocalDateTime tryFormats(String input,
-                                            List<DateTimeFormatter> formats,
-                                            boolean isDateTime) {
-        for (DateTimeFormatter f : formats) {
-            LocalDateTime date = isDateTime
-                    ? tryParseDateTime(input, f)
-                    : tryParseDate(input, f);
-            if (date != null) {
-                return date;
+    private static int skipDigits(String s, int from) {
+        int i = from;
+        while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Reads the ASCII digits in {@code [start, end)} as a number,
+     * or returns -1 if any is not a digit or there are too many.
+     */
+    private static int number(String s, int start, int end) {
+        if (end - start > MAX_DIGITS) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    /**
+     * Replaces each run of whitespace with one space, as {@code replaceAll("\\s+", " ")} does.
+     */
+    private static String collapseWhitespace(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        boolean isInRun = false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (!isWhitespace(c)) {
+                sb.append(c);
+                isInRun = false;
+            } else if (!isInRun) {
+                sb.append(' ');
+                isInRun = true;
             }
         }
-        return null;
+        return sb.toString();
+    }
+
+    /**
+     * Returns whether {@code c} is whitespace as the regex {@code \s} defines it.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
     /**
@@ -130,4 +226,18 @@ public final class DateTime {
         return dateTime.toLocalDate();
     }
 
+    /**
+     * The range of accepted datetimes, and when it must be recomputed.
+     */
+    private static final class Bounds {
+        private final LocalDateTime min;
+        private final LocalDateTime max;
+        private final long expiresAtMillis;
+
+        Bounds(LocalDateTime min, LocalDateTime max, long expiresAtMillis) {
+            this.min = min;
+            this.max = max;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
 }
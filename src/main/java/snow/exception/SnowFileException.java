@@ -26,6 +26,15 @@ public class SnowFileException extends SnowException {
         return new SnowFileException("Failed to create directory: " + dirPath);
     }
 
+    /**
+     * Creates exception for files that another process has rewritten since they were loaded,
+     * in a way that cannot be merged.
+     */
+    public static SnowFileException changedElsewhere(String filePath) {
+        return new SnowFileException("File was changed by another copy of Snow: " + filePath
+                + ". Restart Snow to load the changes.");
+    }
+
     /**
      * Creates exception for file corruption or unexpected format.
      */
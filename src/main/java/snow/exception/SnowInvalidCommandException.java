@@ -17,6 +17,7 @@ public class SnowInvalidCommandException extends SnowException {
      */
     public SnowInvalidCommandException(String command) {
         super("Unknown command: '" + command + "'. Try 'list', 'todo', 'deadline', 'event', "
-                + "'mark', 'unmark', 'delete', 'find', 'findbydate', 'places', or 'bye'.");
+                + "'mark', 'unmark', 'delete', 'find', 'findbydate', 'findbetween', 'overdue', 'places', 'archive', "
+                + "'import', 'export', 'begin', 'commit', 'rollback', or 'bye'.");
     }
 }
@@ -40,6 +40,13 @@ public class SnowTaskException extends SnowException {
         return new SnowTaskException("Event start time must be before end time.");
     }
 
+    /**
+     * Creates exception for a date range that ends before it starts.
+     */
+    public static SnowTaskException invalidDateRange() {
+        return new SnowTaskException("The start date of a range must not be after its end date.");
+    }
+
     /**
      * Creates exception for invalid task index.
      */
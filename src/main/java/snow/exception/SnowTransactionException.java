@@ -0,0 +1,51 @@
+package snow.exception;
+
+/**
+ * Exception thrown when commands cannot be run together as a transaction.
+ */
+public class SnowTransactionException extends SnowException {
+
+    /**
+     * Private constructor - use static factory methods instead.
+     */
+    private SnowTransactionException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates exception for a command that cannot be part of a transaction.
+     */
+    public static SnowTransactionException notAllowed(String input) {
+        return new SnowTransactionException("'" + input + "' cannot be run inside a transaction.");
+    }
+
+    /**
+     * Creates exception for 'begin' while a transaction is already open.
+     */
+    public static SnowTransactionException alreadyStarted() {
+        return new SnowTransactionException("A transaction is already open. Use 'commit' or 'rollback' first.");
+    }
+
+    /**
+     * Creates exception for 'commit' or 'rollback' without an open transaction.
+     */
+    public static SnowTransactionException notStarted(String commandName) {
+        return new SnowTransactionException("There is no transaction to " + commandName + ". Start one with 'begin'.");
+    }
+
+    /**
+     * Creates exception for a command that failed, undoing the whole transaction.
+     */
+    public static SnowTransactionException failed(int position, int count, String reason) {
+        return new SnowTransactionException("Command " + position + " of " + count
+                + " failed, so none of them were applied: " + reason);
+    }
+
+    /**
+     * Creates exception for a transaction whose changes could not be saved.
+     */
+    public static SnowTransactionException notSaved(String reason) {
+        return new SnowTransactionException("The changes could not be saved, so none of them were applied: "
+                + reason);
+    }
+}
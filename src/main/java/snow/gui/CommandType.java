@@ -11,7 +11,13 @@ public enum CommandType {
     LIST_COMMAND("list-label"),
     FIND_COMMAND("find-label"),
     FIND_BY_DATE_COMMAND("findbydate-label"),
+    FIND_BETWEEN_COMMAND("findbetween-label"),
+    OVERDUE_COMMAND("overdue-label"),
     PLACES_COMMAND("places-label"),
+    ARCHIVE_COMMAND("archive-label"),
+    IMPORT_COMMAND("import-label"),
+    EXPORT_COMMAND("export-label"),
+    TRANSACTION_COMMAND("transaction-label"),
     BYE_COMMAND("bye-label"),
     GREETING_COMMAND("greeting-label"),
     UNKNOWN_COMMAND(""); // No styling for unknown commands
@@ -47,8 +53,21 @@ public enum CommandType {
             return FIND_COMMAND;
         case "FindByDateCommand":
             return FIND_BY_DATE_COMMAND;
+        case "FindBetweenCommand":
+            return FIND_BETWEEN_COMMAND;
+        case "OverdueCommand":
+            return OVERDUE_COMMAND;
         case "PlacesCommand":
             return PLACES_COMMAND;
+        case "ArchiveCommand":
+            return ARCHIVE_COMMAND;
+        case "ImportCommand":
+            return IMPORT_COMMAND;
+        case "ExportCommand":
+            return EXPORT_COMMAND;
+        case "TransactionCommand":
+        case "BlockCommand":
+            return TRANSACTION_COMMAND;
         case "ByeCommand":
             return BYE_COMMAND;
         case "GreetingCommand":
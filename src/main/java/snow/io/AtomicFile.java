@@ -0,0 +1,121 @@
+package snow.io;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replaces files by writing a temporary sibling and renaming it over the target.
+ */
+public final class AtomicFile {
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final AtomicLong TMP_COUNTER = new AtomicLong();
+
+    private AtomicFile() {
+
+    }
+
+    /**
+     * Something that writes the full contents of a file.
+     */
+    @FunctionalInterface
+    public interface Content {
+        /**
+         * Writes the contents to {@code out}.
+         *
+         * @param out the stream to write to, closed by the caller
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Writes {@code content} to a temporary file and atomically renames it over {@code target}.
+     *
+     * @param target the file to replace
+     * @param content writes the new contents
+     * @param shouldSync whether to fsync the data and the rename before returning
+     */
+    public static void write(Path target, Content content, boolean shouldSync) throws IOException {
+        commit(prepare(target, content, shouldSync), target, shouldSync);
+    }
+
+    /**
+     * Writes {@code content} to a new temporary sibling of {@code target}, without replacing it.
+     * Each call gets its own temporary file, so several threads or processes may prepare at once.
+     *
+     * @param target the file the contents will replace
+     * @param content writes the new contents
+     * @param shouldSync whether to fsync the data before returning
+     * @return the temporary file, to pass to {@link #commit(Path, Path, boolean)} or delete
+     */
+    public static Path prepare(Path target, Content content, boolean shouldSync) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + "." + ProcessHandle.current().pid()
+                + "-" + TMP_COUNTER.incrementAndGet() + TMP_SUFFIX);
+        try (FileOutputStream fos = new FileOutputStream(tmp.toFile());
+             OutputStream out = new BufferedOutputStream(fos, 1 << 16)) {
+            content.writeTo(out);
+            out.flush();
+            if (shouldSync) {
+                fos.getFD().sync();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        return tmp;
+    }
+
+    /**
+     * Atomically renames a file from {@link #prepare(Path, Content, boolean)} over {@code target}.
+     *
+     * @param tmp the prepared temporary file
+     * @param target the file to replace
+     * @param shouldSync whether to fsync the rename before returning
+     */
+    public static void commit(Path tmp, Path target, boolean shouldSync) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        if (shouldSync) {
+            syncDirectory(target.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Forces the current contents of {@code path} to disk, if it exists.
+     */
+    public static void sync(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Forces a directory entry change such as a rename to disk. Not every platform
+     * allows opening a directory, so this is best effort.
+     */
+    private static void syncDirectory(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened for syncing on this platform
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package snow.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import snow.model.Deadline;
+import snow.model.Event;
+import snow.model.Place;
+import snow.model.Task;
+import snow.model.TaskList;
+import snow.model.Todo;
+
+/**
+ * Compact binary encoding of places and tasks.
+ *
+ * <p>Layout (all integers are unsigned LEB128 varints unless noted):
+ * <pre>
+ *   magic "SNOW" (4 bytes) | version (1 byte)
+ *   placeCount | { id | name }*
+ *   taskCount  | { flags (1 byte) | placeId + 1 | name | dates }*
+ * </pre>
+ * Strings are a varint byte length followed by UTF-8 bytes. The low two bits of
+ * {@code flags} hold the task type (0 todo, 1 deadline, 2 event) and bit 2 the done
+ * status. Dates are zigzag-encoded minutes since the epoch (UTC), one for a deadline
+ * and two for an event. Place names are stored once; tasks refer to places by id.
+ */
+public final class BinaryFormat {
+    /** Current format version. */
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'S', 'N', 'O', 'W'};
+    private static final int TYPE_TODO = 0;
+    private static final int TYPE_DEADLINE = 1;
+    private static final int TYPE_EVENT = 2;
+    private static final int TYPE_MASK = 0b11;
+    private static final int DONE_BIT = 0b100;
+
+    private BinaryFormat() {
+
+    }
+
+    /**
+     * Returns whether {@code data} starts with the binary format header.
+     */
+    public static boolean isBinary(byte[] data) {
+        return data.length >= MAGIC.length + 1
+                && Arrays.equals(data, 0, MAGIC.length, MAGIC, 0, MAGIC.length);
+    }
+
+    /**
+     * Writes places and tasks to {@code out} in the binary format.
+     *
+     * @param out destination stream, not closed by this method
+     * @param places places to store
+     * @param tasks tasks to store
+     */
+    public static void write(OutputStream out, List<Place> places, TaskList tasks) throws IOException {
+        Encoder enc = new Encoder();
+        enc.bytes(MAGIC);
+        enc.raw(VERSION);
+
+        enc.varint(places.size());
+        for (Place place : places) {
+            enc.varint(place.getId());
+            enc.string(place.getName());
+        }
+
+        enc.varint(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            if (enc.size() > 1 << 16) {
+                enc.drainTo(out);
+            }
+            encodeTask(enc, tasks.get(i), tasks.isDone(i));
+        }
+        enc.drainTo(out);
+    }
+
+    /**
+     * Decodes binary data, reporting each place and appending each task to {@code tasks}.
+     *
+     * @param data the whole binary file
+     * @param onPlace receives every stored place, before any task is decoded
+     * @param placeLookup resolves a stored place id to the place to attach, or {@code null}
+     * @param tasks list the decoded tasks are appended to
+     * @throws IOException if the header is missing, the version unsupported or the data truncated
+     */
+    public static void read(byte[] data, Consumer<Place> onPlace, IntFunction<Place> placeLookup,
+                            TaskList tasks) throws IOException {
+        if (!isBinary(data)) {
+            throw new IOException("missing binary header");
+        }
+        Decoder dec = new Decoder(data, MAGIC.length);
+        int version = dec.raw();
+        if (version != VERSION) {
+            throw new IOException("unsupported binary version " + version);
+        }
+
+        try {
+            long placeCount = dec.varint();
+            for (long i = 0; i < placeCount; i++) {
+                int id = (int) dec.varint();
+                onPlace.accept(new Place(id, dec.string()));
+            }
+
+            long taskCount = dec.varint();
+            for (long i = 0; i < taskCount; i++) {
+                tasks.add(decodeTask(dec, placeLookup));
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("truncated binary data");
+        }
+    }
+
+    private static void encodeTask(Encoder enc, Task task, boolean isDone) {
+        int flags = isDone ? DONE_BIT : 0;
+        if (task instanceof Deadline) {
+            flags |= TYPE_DEADLINE;
+        } else if (task instanceof Event) {
+            flags |= TYPE_EVENT;
+        } else {
+            flags |= TYPE_TODO;
+        }
+        enc.raw(flags);
+        enc.varint(task.hasPlace() ? task.getPlace().getId() + 1 : 0);
+        enc.string(task.getDescription());
+
+        if (task instanceof Deadline deadline) {
+            enc.zigzag(toEpochMinute(deadline.getDate()));
+        } else if (task instanceof Event event) {
+            enc.zigzag(toEpochMinute(event.getFromDate()));
+            enc.zigzag(toEpochMinute(event.getToDate()));
+        }
+    }
+
+    private static Task decodeTask(Decoder dec, IntFunction<Place> placeLookup) throws IOException {
+        int flags = dec.raw();
+        int placeId = (int) dec.varint() - 1;
+        String name = dec.string();
+
+        Task task = switch (flags & TYPE_MASK) {
+        case TYPE_TODO -> new Todo(name);
+        case TYPE_DEADLINE -> new Deadline(name, fromEpochMinute(dec.zigzag()));
+        case TYPE_EVENT -> new Event(name, fromEpochMinute(dec.zigzag()), fromEpochMinute(dec.zigzag()));
+        default -> throw new IOException("unknown task type " + (flags & TYPE_MASK));
+        };
+        if ((flags & DONE_BIT) != 0) {
+            task.mark();
+        }
+        if (placeId != -1) {
+            Place place = placeLookup.apply(placeId);
+            if (place != null) {
+                task.setPlace(place);
+            }
+        }
+        return task;
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime fromEpochMinute(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Growable byte buffer with varint helpers.
+     */
+    private static final class Encoder {
+        private byte[] buf = new byte[1 << 12];
+        private int len;
+
+        int size() {
+            return len;
+        }
+
+        void raw(int b) {
+            ensure(1);
+            buf[len++] = (byte) b;
+        }
+
+        void bytes(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, buf, len, b.length);
+            len += b.length;
+        }
+
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[len++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[len++] = (byte) value;
+        }
+
+        void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        void string(String s) {
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            varint(b.length);
+            bytes(b);
+        }
+
+        void drainTo(OutputStream out) throws IOException {
+            out.write(buf, 0, len);
+            len = 0;
+        }
+
+        private void ensure(int extra) {
+            if (len + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+            }
+        }
+    }
+
+    /**
+     * Cursor over a byte array with varint helpers.
+     */
+    private static final class Decoder {
+        private final byte[] data;
+        private int pos;
+
+        Decoder(byte[] data, int pos) {
+            this.data = data;
+            this.pos = pos;
+        }
+
+        int raw() {
+            return data[pos++] & 0xFF;
+        }
+
+        long varint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = data[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("malformed varint");
+        }
+
+        long zigzag() throws IOException {
+            long value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String string() throws IOException {
+            int length = (int) varint();
+            String s = new String(data, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return s;
+        }
+    }
+}
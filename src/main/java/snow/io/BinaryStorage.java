@@ -0,0 +1,100 @@
+package snow.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import snow.exception.SnowFileException;
+import snow.model.Place;
+import snow.model.PlaceRegistry;
+import snow.model.TaskList;
+
+/**
+ * Saves a {@link TaskList} in the compact {@link BinaryFormat}, rewritten on every change.
+ * A save file without the binary header, such as one written by {@link TextStorage}, is
+ * loaded as text and written back as binary by the next save.
+ */
+public class BinaryStorage extends SingleFileStorage {
+
+    /**
+     * Creates a storage that reads/writes binary at the given file path.
+     *
+     * @param filePath path to the save file
+     */
+    public BinaryStorage(String filePath) {
+        super(filePath);
+    }
+
+    @Override
+    void writeTo(OutputStream out, TaskList taskList, List<String> taskLines) throws IOException {
+        BinaryFormat.write(out, PlaceRegistry.getPlaces(), taskList);
+    }
+
+    @Override
+    long readBase(File f, TaskList taskList, LoadReport report) throws IOException, SnowFileException {
+        if (!loadBinary(f, taskList)) {
+            return super.readBase(f, taskList, report);
+        }
+        report.addRecords(taskList.size(), PlaceRegistry.getPlaces().size(), 0, 0);
+        return 0;
+    }
+
+    /**
+     * Reads the place and task lines currently in the file by decoding it into a separate list.
+     * The places this process knows are left as they are.
+     */
+    @Override
+    StoredLines readCurrentLines() throws IOException, SnowFileException {
+        List<Place> known = new ArrayList<>(PlaceRegistry.getPlaces());
+        StoredLines lines = new StoredLines();
+        try {
+            PlaceRegistry.clearPlaces();
+            TaskList current = readCurrent();
+            for (Place place : PlaceRegistry.getPlaces()) {
+                lines.add(place.toSaveString());
+            }
+            for (String line : taskLines(current)) {
+                lines.add(line);
+            }
+        } finally {
+            PlaceRegistry.clearPlaces();
+            for (Place place : known) {
+                PlaceRegistry.addPlace(place);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Reads the tasks currently in the file, registering the places they name.
+     */
+    private TaskList readCurrent() throws IOException, SnowFileException {
+        TaskList current = new TaskList();
+        File f = new File(filePath);
+        if (f.exists() && !loadBinary(f, current)) {
+            new MappedTaskReader().read(f, current);
+        }
+        return current;
+    }
+
+    /**
+     * Loads {@code f} as a binary file if it has the binary header.
+     *
+     * @return false if the file is not binary, so it should be loaded as text instead
+     */
+    private boolean loadBinary(File f, TaskList taskList) throws SnowFileException {
+        try {
+            byte[] data = Files.readAllBytes(f.toPath());
+            if (!BinaryFormat.isBinary(data)) {
+                return false;
+            }
+            BinaryFormat.read(data, PlaceRegistry::addPlace, PlaceRegistry::findById, taskList);
+            return true;
+        } catch (IOException e) {
+            throw SnowFileException.corruptedFile(filePath + " - " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package snow.io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Comma-separated records with a header line, quoted as RFC 4180 describes: fields containing
+ * a comma, quote or line break are wrapped in quotes, and quotes inside them are doubled.
+ */
+class CsvFormat implements RecordFormat {
+    private static final String HEADER = String.join(",", FIELDS);
+
+    @Override
+    public void writeHeader(BufferedWriter out) throws IOException {
+        out.write(HEADER);
+        out.newLine();
+    }
+
+    @Override
+    public void write(BufferedWriter out, String[] record) throws IOException {
+        for (int i = 0; i < record.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String field = record[i];
+            if (field == null) {
+                continue;
+            }
+            if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0
+                    && field.indexOf('\r') < 0) {
+                out.write(field);
+            } else {
+                out.write('"');
+                out.write(field.replace("\"", "\"\""));
+                out.write('"');
+            }
+        }
+        out.newLine();
+    }
+
+    @Override
+    public String[] read(BufferedReader in) throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank() || line.equalsIgnoreCase(HEADER));
+
+        List<String> fields = new ArrayList<>(FIELDS.length);
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+        boolean wasQuoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!isQuoted) {
+                    break;
+                }
+                // A quoted field runs on to the next line
+                line = in.readLine();
+                if (line == null) {
+                    throw new IllegalArgumentException("unterminated quoted field");
+                }
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (isQuoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    isQuoted = false;
+                }
+            } else if (c == '"' && field.length() == 0) {
+                isQuoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(toField(field, wasQuoted));
+                field.setLength(0);
+                wasQuoted = false;
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(toField(field, wasQuoted));
+
+        if (fields.size() > FIELDS.length) {
+            throw new IllegalArgumentException("expected " + FIELDS.length + " fields but found " + fields.size());
+        }
+        String[] record = new String[FIELDS.length];
+        for (int j = 0; j < fields.size(); j++) {
+            record[j] = fields.get(j);
+        }
+        return record;
+    }
+
+    private static String toField(StringBuilder field, boolean wasQuoted) {
+        return field.length() == 0 && !wasQuoted ? null : field.toString();
+    }
+}
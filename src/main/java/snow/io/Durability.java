@@ -0,0 +1,17 @@
+package snow.io;
+
+/**
+ * Enumerates how hard {@link Storage} works to get saved data onto stable storage.
+ *
+ * <p>Every level writes full saves to a temporary file and atomically renames it over
+ * the save file, so a crash never leaves a half-written file behind. The levels differ
+ * only in when the data is forced to disk with fsync.
+ */
+public enum Durability {
+    /** Never fsync; the operating system writes the data back when it chooses. */
+    NONE,
+    /** Fsync when a batch of changes is flushed: write-behind saves and {@link Storage#flush()}. */
+    BATCH,
+    /** Fsync every save and every journal append before returning. */
+    ALWAYS
+}
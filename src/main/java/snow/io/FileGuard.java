@@ -0,0 +1,146 @@
+package snow.io;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coordinates processes that read and write the same save files.
+ *
+ * <p>Writers hold an exclusive {@link FileLock} on a lock file next to the save file. The
+ * save file itself cannot carry the lock, because every full save renames a new file over it.
+ * A file lock is held by the whole process, so a process-wide {@link ReentrantLock} per lock
+ * file keeps threads, and several {@code Storage} instances on one path, from overlapping.
+ *
+ * <p>The guard also remembers a stamp of the guarded files as this process last read or wrote
+ * them: size, modification time and file key of each. The file key changes with every rename,
+ * so a stamp that differs under the lock means another process has written in the meantime.
+ */
+public class FileGuard {
+    private static final Map<Path, Holder> HOLDERS = new ConcurrentHashMap<>();
+
+    private final Holder holder;
+    private final List<Path> paths;
+    private List<Object> knownStamp;
+
+    /**
+     * Creates a guard that locks {@code lockPath} and tracks changes to {@code paths}.
+     *
+     * @param lockPath the lock file, created when first locked
+     * @param paths the files whose changes by other processes should be detected
+     */
+    public FileGuard(Path lockPath, Path... paths) {
+        this.holder = HOLDERS.computeIfAbsent(lockPath.toAbsolutePath().normalize(), Holder::new);
+        this.paths = Arrays.asList(paths);
+    }
+
+    /**
+     * Blocks until this thread holds the lock, both within this process and across processes.
+     * Locking again while already holding the lock only nests. Every call must be matched by a
+     * call to {@link #unlock()}, in a {@code finally} block.
+     */
+    public void lock() throws IOException {
+        holder.acquire();
+    }
+
+    /**
+     * Releases the lock taken by the matching {@link #lock()}.
+     */
+    public void unlock() throws IOException {
+        holder.release();
+    }
+
+    /**
+     * Returns whether the guarded files have changed since {@link #refresh()} was last called.
+     * A guard that has never been refreshed is not tracking the files and is never stale.
+     */
+    public synchronized boolean isStale() throws IOException {
+        return knownStamp != null && !knownStamp.equals(stamp());
+    }
+
+    /**
+     * Records the guarded files as they are now as this process's view of them.
+     * Call while holding the lock, after reading or writing them.
+     */
+    public synchronized void refresh() throws IOException {
+        knownStamp = stamp();
+    }
+
+    /** Returns whether {@link #refresh()} has been called, so changes are being tracked. */
+    public synchronized boolean isTracking() {
+        return knownStamp != null;
+    }
+
+    private List<Object> stamp() throws IOException {
+        List<Object> stamp = new ArrayList<>(paths.size() * 3);
+        for (Path path : paths) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                stamp.add(attributes.size());
+                stamp.add(attributes.lastModifiedTime());
+                stamp.add(attributes.fileKey());
+            } catch (NoSuchFileException e) {
+                stamp.add(null);
+                stamp.add(null);
+                stamp.add(null);
+            }
+        }
+        return stamp;
+    }
+
+    /**
+     * The process-wide state of one lock file.
+     */
+    private static class Holder {
+        private final Path lockPath;
+        private final ReentrantLock localLock = new ReentrantLock();
+        private FileChannel channel;
+        private FileLock fileLock;
+
+        Holder(Path lockPath) {
+            this.lockPath = lockPath;
+        }
+
+        void acquire() throws IOException {
+            localLock.lock();
+            if (localLock.getHoldCount() > 1) {
+                return;
+            }
+            try {
+                channel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                fileLock = channel.lock();
+            } catch (IOException | RuntimeException e) {
+                if (channel != null) {
+                    channel.close();
+                    channel = null;
+                }
+                localLock.unlock();
+                throw e;
+            }
+        }
+
+        void release() throws IOException {
+            try {
+                if (localLock.getHoldCount() == 1) {
+                    fileLock.release();
+                    channel.close();
+                    fileLock = null;
+                    channel = null;
+                }
+            } finally {
+                localLock.unlock();
+            }
+        }
+    }
+}
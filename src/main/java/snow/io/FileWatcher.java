@@ -0,0 +1,87 @@
+package snow.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a few files in one directory and runs a callback on a background thread when any of them changes.
+ *
+ * <p>A save renames a new file over the old one, and an edit may arrive as several events, so
+ * events are gathered until the directory has been quiet for a short while and then reported once.
+ * The callback also runs for this process's own writes; it is expected to tell those apart.
+ */
+public class FileWatcher implements Closeable {
+    /** How long the directory must be quiet before a change is reported, in milliseconds. */
+    public static final long SETTLE_MILLIS = 50;
+
+    private final WatchService service;
+    private final Set<Path> names;
+    private final Runnable onChange;
+    private final Thread thread;
+
+    /**
+     * Starts watching {@code files}, which must share a parent directory.
+     *
+     * @param onChange run after a batch of changes to any of the files
+     * @param files the files to watch; they need not exist yet
+     */
+    public FileWatcher(Runnable onChange, Path... files) throws IOException {
+        Path directory = files[0].toAbsolutePath().getParent();
+        this.service = FileSystems.getDefault().newWatchService();
+        this.names = Set.of(Arrays.stream(files).map(Path::getFileName).toArray(Path[]::new));
+        this.onChange = onChange;
+        directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        this.thread = new Thread(this::run, "snow-file-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        service.close();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                boolean isChanged = drain(service.take());
+                WatchKey key;
+                while ((key = service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    isChanged |= drain(key);
+                }
+                if (isChanged) {
+                    onChange.run();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Closed by close()
+        }
+    }
+
+    /**
+     * Consumes the events of {@code key} and re-arms it.
+     *
+     * @return whether any event concerned a watched file
+     */
+    private boolean drain(WatchKey key) {
+        boolean isWatched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            isWatched |= event.kind() == StandardWatchEventKinds.OVERFLOW || names.contains(event.context());
+        }
+        key.reset();
+        return isWatched;
+    }
+}
@@ -0,0 +1,369 @@
+package snow.io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import snow.exception.SnowFileException;
+import snow.exception.SnowTaskException;
+import snow.model.Place;
+import snow.model.PlaceRegistry;
+import snow.model.Task;
+import snow.model.TaskList;
+
+/**
+ * Append-only log of task list mutations kept next to the save file.
+ *
+ * <p>Each mutation is written as one line, prefixed by its sequence number:
+ * <ul>
+ *   <li>{@code 7 | add | T | 0 | name | at= | pid=-1}</li>
+ *   <li>{@code 8 | mark | 2}, {@code 9 | unmark | 2}, {@code 10 | delete | 2} (zero-based index)</li>
+ *   <li>{@code 11 | place | P | 1 | name}</li>
+ * </ul>
+ * Replaying the records newer than the base file's sequence number rebuilds the task list.
+ * Each line is sealed with a {@link RecordChecksum}; lines whose checksum does not match
+ * are skipped on replay.
+ */
+public class Journal {
+    private static final String SEPARATOR = " | ";
+
+    private final File file;
+    private final Set<Integer> knownPlaceIds = new HashSet<>();
+    private long lastSequence;
+    private int recordCount;
+    private int corruptRecords;
+    private boolean isSyncOnAppend;
+    private boolean hasUnsyncedAppends;
+
+    /**
+     * Creates a journal stored at the given path.
+     *
+     * @param filePath path to the journal file
+     */
+    public Journal(String filePath) {
+        this.file = new File(filePath);
+    }
+
+    /**
+     * Sets whether every append is forced to disk before returning.
+     */
+    public synchronized void setSyncOnAppend(boolean isSyncOnAppend) {
+        this.isSyncOnAppend = isSyncOnAppend;
+    }
+
+    /**
+     * Forces any appended records that have not been synced yet to disk.
+     */
+    public synchronized void sync() throws IOException {
+        if (hasUnsyncedAppends) {
+            AtomicFile.sync(file.toPath());
+            hasUnsyncedAppends = false;
+        }
+    }
+
+    /** Appends an add record, preceded by a place record if the task's place is new. */
+    public synchronized void appendAdd(Task task) throws SnowFileException {
+        if (task.hasPlace() && !knownPlaceIds.contains(task.getPlace().getId())) {
+            append("place" + SEPARATOR + task.getPlace().toSaveString());
+            knownPlaceIds.add(task.getPlace().getId());
+        }
+        append("add" + SEPARATOR + task.toSaveString());
+    }
+
+    /** Appends a mark record for the task at {@code index}. */
+    public synchronized void appendMark(int index) throws SnowFileException {
+        append("mark" + SEPARATOR + index);
+    }
+
+    /** Appends an unmark record for the task at {@code index}. */
+    public synchronized void appendUnmark(int index) throws SnowFileException {
+        append("unmark" + SEPARATOR + index);
+    }
+
+    /** Appends a delete record for the task at {@code index}. */
+    public synchronized void appendDelete(int index) throws SnowFileException {
+        append("delete" + SEPARATOR + index);
+    }
+
+    /**
+     * Replays the records newer than {@code baseSequence} onto {@code taskList}.
+     * Records that cannot be applied are reported and skipped.
+     *
+     * @param taskList the list to apply the records to
+     * @param baseSequence sequence number of the last record already folded into the base file
+     * @return the number of records applied
+     */
+    public synchronized int replay(TaskList taskList, long baseSequence) throws SnowFileException {
+        lastSequence = baseSequence;
+        recordCount = 0;
+        corruptRecords = 0;
+        rememberKnownPlaces();
+        if (!file.exists()) {
+            return 0;
+        }
+
+        int applied = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            int lineNumber = 0;
+            String line;
+            while ((line = br.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (RecordChecksum.hasChecksum(line)) {
+                    if (!RecordChecksum.isIntact(line)) {
+                        corruptRecords++;
+                        System.out.println("Warning: Checksum mismatch on journal line " + lineNumber + ": " + line);
+                        continue;
+                    }
+                    line = RecordChecksum.strip(line);
+                }
+                String[] parts = line.split(" \\| ", 2);
+                long sequence = parseSequence(parts[0]);
+                if (sequence <= baseSequence || parts.length < 2) {
+                    continue;
+                }
+                lastSequence = Math.max(lastSequence, sequence);
+                recordCount++;
+                if (apply(parts[1], taskList)) {
+                    applied++;
+                } else {
+                    System.out.println("Warning: Failed to replay journal line " + lineNumber + ": " + line);
+                }
+            }
+        } catch (IOException e) {
+            throw SnowFileException.accessDenied(file.getPath() + " - " + e.getMessage());
+        }
+        rememberKnownPlaces();
+        return applied;
+    }
+
+    /**
+     * Applies the records newer than {@code lines}' sequence number to {@code lines} without
+     * parsing any of them into tasks, and advances that sequence number past them.
+     * Unlike {@link #replay(TaskList, long)}, this leaves the journal's own state untouched,
+     * so it can read records appended by another process.
+     *
+     * @param lines the lines read from the base file
+     */
+    public synchronized void replayLines(StoredLines lines) throws SnowFileException {
+        if (!file.exists()) {
+            return;
+        }
+        long baseSequence = lines.getLastSequence();
+        try (BufferedReader br = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (RecordChecksum.hasChecksum(line)) {
+                    if (!RecordChecksum.isIntact(line)) {
+                        continue;
+                    }
+                    line = RecordChecksum.strip(line);
+                }
+                String[] parts = line.split(" \\| ", 3);
+                long sequence = parseSequence(parts[0]);
+                if (sequence <= baseSequence || parts.length < 3) {
+                    continue;
+                }
+                lines.setLastSequence(Math.max(lines.getLastSequence(), sequence));
+                applyLine(parts[1], parts[2], lines);
+            }
+        } catch (IOException e) {
+            throw SnowFileException.accessDenied(file.getPath() + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Makes the next record's sequence number follow {@code sequence}, if it does not already,
+     * so records appended after reading another process's files are not mistaken for folded ones.
+     */
+    public synchronized void advanceTo(long sequence) {
+        lastSequence = Math.max(lastSequence, sequence);
+    }
+
+    /**
+     * Discards all records, typically after they have been folded into the base file.
+     */
+    public synchronized void clear() throws SnowFileException {
+        if (file.exists() && !file.delete()) {
+            throw SnowFileException.accessDenied(file.getAbsolutePath());
+        }
+        recordCount = 0;
+        rememberKnownPlaces();
+    }
+
+    /**
+     * Drops the records up to and including {@code sequence}, keeping any newer ones.
+     * The journal is rewritten to a temporary file and swapped in atomically.
+     *
+     * @param sequence sequence number of the last record folded into the base file
+     */
+    public synchronized void truncateTo(long sequence) throws SnowFileException {
+        if (!file.exists()) {
+            return;
+        }
+        List<String> kept = new ArrayList<>();
+        try {
+            try (BufferedReader br = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    if (!line.isBlank() && parseSequence(line.split(" \\| ", 2)[0]) > sequence) {
+                        kept.add(line);
+                    }
+                }
+            }
+            AtomicFile.write(file.toPath(), out -> {
+                BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                for (String line : kept) {
+                    bw.write(line);
+                    bw.newLine();
+                }
+                bw.flush();
+            }, isSyncOnAppend);
+        } catch (IOException e) {
+            throw SnowFileException.accessDenied(file.getPath() + " - " + e.getMessage());
+        }
+        recordCount = kept.size();
+    }
+
+    /** Returns the sequence number of the latest record. */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /** Returns the number of records skipped by the last replay because their checksum did not match. */
+    public synchronized int getCorruptRecords() {
+        return corruptRecords;
+    }
+
+    /** Returns the number of records currently held in the journal. */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    /** Returns the size of the journal file in bytes. */
+    public long getSizeBytes() {
+        return file.length();
+    }
+
+    /**
+     * Applies a single journal record to the task list.
+     *
+     * @return true if the record was recognised and applied
+     */
+    private boolean apply(String record, TaskList taskList) {
+        String[] parts = record.split(" \\| ", 2);
+        if (parts.length < 2) {
+            return false;
+        }
+        String payload = parts[1];
+        try {
+            switch (parts[0]) {
+            case "add":
+                Task task = Parser.parseLine(payload);
+                if (task == null) {
+                    return false;
+                }
+                taskList.add(task);
+                return true;
+            case "place":
+                Place place = Parser.parsePlaceFromStorage(payload);
+                if (place == null) {
+                    return false;
+                }
+                if (PlaceRegistry.findById(place.getId()) == null) {
+                    PlaceRegistry.addPlace(place);
+                }
+                return true;
+            case "mark":
+                taskList.mark(Integer.parseInt(payload));
+                return true;
+            case "unmark":
+                taskList.unmark(Integer.parseInt(payload));
+                return true;
+            case "delete":
+                taskList.remove(Integer.parseInt(payload));
+                return true;
+            default:
+                return false;
+            }
+        } catch (NumberFormatException | SnowTaskException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Applies a single journal record to stored lines, as {@link #apply} does to a task list.
+     */
+    private static void applyLine(String type, String payload, StoredLines lines) {
+        try {
+            switch (type) {
+            case "add":
+            case "place":
+                lines.add(payload);
+                break;
+            case "mark":
+                lines.setDone(Integer.parseInt(payload), true);
+                break;
+            case "unmark":
+                lines.setDone(Integer.parseInt(payload), false);
+                break;
+            case "delete":
+                lines.removeTask(Integer.parseInt(payload));
+                break;
+            default:
+                break;
+            }
+        } catch (NumberFormatException e) {
+            // Skipped, as replay skips records it cannot apply
+        }
+    }
+
+    /**
+     * Parses a record's sequence number, or returns -1 if it has none.
+     */
+    private static long parseSequence(String field) {
+        try {
+            return Long.parseLong(field);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void append(String record) throws SnowFileException {
+        long sequence = lastSequence + 1;
+        String line = RecordChecksum.seal(sequence + SEPARATOR + record) + System.lineSeparator();
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(line.getBytes(StandardCharsets.UTF_8));
+            if (isSyncOnAppend) {
+                out.getFD().sync();
+            } else {
+                hasUnsyncedAppends = true;
+            }
+        } catch (IOException e) {
+            throw SnowFileException.accessDenied(file.getPath() + " - " + e.getMessage());
+        }
+        lastSequence = sequence;
+        recordCount++;
+    }
+
+    private void rememberKnownPlaces() {
+        knownPlaceIds.clear();
+        for (Place place : PlaceRegistry.getPlaces()) {
+            knownPlaceIds.add(place.getId());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package snow.io;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import snow.exception.SnowFileException;
+import snow.model.Place;
+import snow.model.PlaceRegistry;
+import snow.model.TaskList;
+
+/**
+ * Folds a {@link Journal} into a fresh snapshot of the save file on a background thread.
+ *
+ * <p>The snapshot is written to a temporary file, forced to disk and atomically renamed
+ * over the save file. Its first line records the sequence number of the last journal
+ * record it contains, so a crash at any point leaves either the old file and the full
+ * journal, or the new file and a journal whose folded records are skipped on replay.
+ *
+ * <p>The snapshot is a read-only {@link TaskList#snapshot()}, serialized on the compactor's
+ * thread, so the commands that keep changing the list never wait for it. Only the swap holds
+ * the {@link FileGuard} lock. If another process has written the files since the snapshot was
+ * taken, the compaction is skipped; the next save merges instead.
+ */
+public class JournalCompactor {
+    /** Default number of journal records that triggers a compaction. */
+    public static final int DEFAULT_MAX_RECORDS = 1000;
+
+    /** Default journal size in bytes that triggers a compaction. */
+    public static final long DEFAULT_MAX_BYTES = 1024 * 1024;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "snow-journal-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Path filePath;
+    private final Journal journal;
+    private final FileGuard guard;
+    private final int maxRecords;
+    private final long maxBytes;
+
+    private Future<?> pending = CompletableFuture.completedFuture(null);
+    private volatile long lastCompactionMillis;
+    private volatile int compactionCount;
+
+    /**
+     * Creates a compactor for the given save file and journal.
+     *
+     * @param filePath path to the save file
+     * @param journal the journal to fold into the save file
+     * @param guard the lock and change tracking shared with the storage that owns the files
+     * @param maxRecords number of journal records that triggers a compaction
+     * @param maxBytes journal size in bytes that triggers a compaction
+     */
+    public JournalCompactor(String filePath, Journal journal, FileGuard guard, int maxRecords, long maxBytes) {
+        this.filePath = Paths.get(filePath);
+        this.journal = journal;
+        this.guard = guard;
+        this.maxRecords = maxRecords;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns whether the journal has grown past either threshold
+     * and no compaction is currently running.
+     */
+    public synchronized boolean shouldCompact() {
+        return pending.isDone()
+                && (journal.getRecordCount() >= maxRecords || journal.getSizeBytes() >= maxBytes);
+    }
+
+    /**
+     * Schedules a compaction that writes {@code snapshot} as the new save file.
+     *
+     * @param snapshot a read-only snapshot of the tasks, taken up to {@code sequence}
+     * @param sequence sequence number of the last journal record reflected in {@code snapshot}
+     * @return a future that completes when the snapshot is in place and the journal truncated
+     */
+    public synchronized Future<?> compact(TaskList snapshot, long sequence) {
+        pending = executor.submit(() -> {
+            long start = System.nanoTime();
+            Path tmp = null;
+            try {
+                tmp = writeSnapshot(snapshot, sequence);
+                guard.lock();
+                try {
+                    if (guard.isStale()) {
+                        System.out.println("Warning: Journal compaction skipped: files changed by another process");
+                        return;
+                    }
+                    AtomicFile.commit(tmp, filePath, true);
+                    journal.truncateTo(sequence);
+                    if (guard.isTracking()) {
+                        guard.refresh();
+                    }
+                } finally {
+                    guard.unlock();
+                }
+            } catch (IOException | SnowFileException e) {
+                System.out.println("Warning: Journal compaction failed: " + e.getMessage());
+                return;
+            } finally {
+                deleteQuietly(tmp);
+            }
+            lastCompactionMillis = (System.nanoTime() - start) / 1_000_000;
+            compactionCount++;
+        });
+        return pending;
+    }
+
+    /**
+     * Blocks until any in-flight compaction has finished.
+     */
+    public void awaitCompaction() {
+        Future<?> current;
+        synchronized (this) {
+            current = pending;
+        }
+        try {
+            current.get();
+        } catch (ExecutionException e) {
+            System.out.println("Warning: Journal compaction failed: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for any compaction in progress, then stops the background thread.
+     */
+    public void close() {
+        awaitCompaction();
+        executor.shutdown();
+    }
+
+    /** Returns how long the most recent compaction took, in milliseconds. */
+    public long getLastCompactionMillis() {
+        return lastCompactionMillis;
+    }
+
+    /** Returns the number of compactions completed so far. */
+    public int getCompactionCount() {
+        return compactionCount;
+    }
+
+    /**
+     * Writes the snapshot to a temporary file, ready to be swapped over the save file.
+     */
+    private Path writeSnapshot(TaskList snapshot, long sequence) throws IOException {
+        return AtomicFile.prepare(filePath, out -> {
+            BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            bw.write(JournaledStorage.sequenceMarker(sequence));
+            bw.newLine();
+            for (Place place : PlaceRegistry.getPlaces()) {
+                bw.write(RecordChecksum.seal(place.toSaveString()));
+                bw.newLine();
+            }
+            for (int i = 0; i < snapshot.size(); i++) {
+                bw.write(RecordChecksum.seal(snapshot.toSaveString(i)));
+                bw.newLine();
+            }
+            bw.flush();
+        }, true);
+    }
+
+    private static void deleteQuietly(Path tmp) {
+        if (tmp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(tmp);
+        } catch (IOException e) {
+            // A leftover temporary file is harmless; the save file was not touched
+        }
+    }
+}
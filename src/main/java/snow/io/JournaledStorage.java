@@ -0,0 +1,179 @@
+package snow.io;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.concurrent.Future;
+
+import snow.exception.SnowFileException;
+import snow.model.Task;
+import snow.model.TaskList;
+
+/**
+ * Saves tasks as text lines like {@link TextStorage}, but appends single mutations to a
+ * {@link Journal} next to the save file instead of rewriting it. The save file starts with
+ * the last journal sequence it folds in, so {@link #load(TaskList)} replays only the records
+ * after it. Once the journal grows past a threshold, a {@link JournalCompactor} folds it into
+ * a fresh snapshot in the background.
+ *
+ * <p>Journal appends that find the files changed by another process become a merged save instead.
+ * With write-behind enabled, changes are not journaled but batched into background saves.
+ */
+public class JournaledStorage extends TextStorage {
+    private static final String SEQUENCE_MARKER = "# journal=";
+
+    private final JournalCompactor compactor;
+
+    /**
+     * Creates a storage that reads/writes journaled text at the given file path.
+     *
+     * @param filePath path to the save file
+     */
+    public JournaledStorage(String filePath) {
+        super(filePath);
+        this.compactor = new JournalCompactor(filePath, journal, guard,
+                JournalCompactor.DEFAULT_MAX_RECORDS, JournalCompactor.DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Returns the first line of a save file that folds journal records up to {@code sequence}.
+     */
+    static String sequenceMarker(long sequence) {
+        return SEQUENCE_MARKER + sequence;
+    }
+
+    /**
+     * Persists the addition of {@code task}, which has just been appended to {@code taskList}.
+     */
+    @Override
+    public void recordAdd(TaskList taskList, Task task) throws SnowFileException {
+        appendOrMerge(taskList, () -> {
+            journal.appendAdd(task);
+            rememberAdded(task);
+        });
+    }
+
+    /**
+     * Persists that the task at {@code index} of {@code taskList} has been marked as done.
+     */
+    @Override
+    public void recordMark(TaskList taskList, int index) throws SnowFileException {
+        appendOrMerge(taskList, () -> {
+            journal.appendMark(index);
+            rememberLine(taskList, index);
+        });
+    }
+
+    /**
+     * Persists that the task at {@code index} of {@code taskList} has been marked as not done.
+     */
+    @Override
+    public void recordUnmark(TaskList taskList, int index) throws SnowFileException {
+        appendOrMerge(taskList, () -> {
+            journal.appendUnmark(index);
+            rememberLine(taskList, index);
+        });
+    }
+
+    /**
+     * Persists that {@code removed}, previously at {@code index}, has been removed from {@code taskList}.
+     */
+    @Override
+    public void recordDelete(TaskList taskList, int index, Task removed) throws SnowFileException {
+        appendOrMerge(taskList, () -> {
+            journal.appendDelete(index);
+            rememberRemoved(index);
+        });
+    }
+
+    /**
+     * Folds the journal into a fresh snapshot of {@code taskList} on a background thread.
+     * The snapshot is captured in constant time before this method returns, so callers may
+     * keep mutating the list.
+     *
+     * @return a future that completes once the snapshot has replaced the save file
+     */
+    public Future<?> compact(TaskList taskList) {
+        return compactor.compact(taskList.snapshot(), journal.getLastSequence());
+    }
+
+    /** Returns how long the most recent journal compaction took, in milliseconds. */
+    public long getLastCompactionMillis() {
+        return compactor.getLastCompactionMillis();
+    }
+
+    /**
+     * Runs a journal append under the file lock, unless another process has written the files
+     * since this one last did; then the change is saved by a full, merged save instead.
+     * With write-behind enabled, the change is left to its next background save.
+     */
+    private void appendOrMerge(TaskList taskList, JournalAppend append) throws SnowFileException {
+        if (isWriteBehind()) {
+            saveOrDefer(taskList);
+            return;
+        }
+        boolean isStale;
+        try {
+            guard.lock();
+            try {
+                isStale = guard.isStale();
+                if (!isStale) {
+                    append.run();
+                    if (guard.isTracking()) {
+                        guard.refresh();
+                    }
+                }
+            } finally {
+                guard.unlock();
+            }
+        } catch (IOException e) {
+            throw SnowFileException.accessDenied(filePath + " - " + e.getMessage());
+        }
+        if (isStale) {
+            // Saving waits for any compaction, which needs the lock, so it must not run under it
+            save(taskList);
+        } else if (compactor.shouldCompact()) {
+            compact(taskList);
+        }
+    }
+
+    /**
+     * Waits for any compaction, then writes the save file. A snapshot is never written,
+     * since the journal may already hold changes made after it.
+     */
+    @Override
+    boolean write(TaskList taskList, boolean shouldSync) throws IOException, SnowFileException {
+        if (taskList.isReadOnly()) {
+            return false;
+        }
+        // Never race an in-flight compaction for the save file
+        compactor.awaitCompaction();
+        return super.write(taskList, shouldSync);
+    }
+
+    @Override
+    void writeHeader(BufferedWriter bw) throws IOException {
+        bw.write(sequenceMarker(journal.getLastSequence()));
+        bw.newLine();
+    }
+
+    @Override
+    StoredLines readCurrentLines() throws IOException, SnowFileException {
+        StoredLines lines = super.readCurrentLines();
+        journal.replayLines(lines);
+        return lines;
+    }
+
+    @Override
+    void closeFiles() {
+        compactor.close();
+        super.closeFiles();
+    }
+
+    /**
+     * A journal append, run under the file lock.
+     */
+    @FunctionalInterface
+    private interface JournalAppend {
+        void run() throws SnowFileException;
+    }
+}
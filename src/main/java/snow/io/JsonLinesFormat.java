@@ -0,0 +1,214 @@
+package snow.io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * JSON Lines records: one flat JSON object per line, such as
+ * {@code {"type":"D","done":false,"description":"report","date":"2024-01-31T23:59"}}.
+ *
+ * <p>Empty fields are left out when writing. When reading, {@code done} may be a boolean,
+ * {@code 0} or {@code 1}, missing fields and {@code null} are empty, and unknown keys are ignored.
+ */
+class JsonLinesFormat implements RecordFormat {
+    private static final List<String> FIELD_NAMES = Arrays.asList(FIELDS);
+    private static final int DONE = FIELD_NAMES.indexOf("done");
+
+    @Override
+    public void writeHeader(BufferedWriter out) {
+        // JSON Lines has no header
+    }
+
+    @Override
+    public void write(BufferedWriter out, String[] record) throws IOException {
+        out.write('{');
+        boolean isFirst = true;
+        for (int i = 0; i < record.length; i++) {
+            if (record[i] == null) {
+                continue;
+            }
+            if (!isFirst) {
+                out.write(',');
+            }
+            isFirst = false;
+            writeString(out, FIELDS[i]);
+            out.write(':');
+            if (i == DONE) {
+                out.write("1".equals(record[i]) ? "true" : "false");
+            } else {
+                writeString(out, record[i]);
+            }
+        }
+        out.write('}');
+        out.newLine();
+    }
+
+    @Override
+    public String[] read(BufferedReader in) throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        return new ObjectReader(line.trim()).read();
+    }
+
+    private static void writeString(BufferedWriter out, String s) throws IOException {
+        out.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+            case '"':
+                out.write("\\\"");
+                break;
+            case '\\':
+                out.write("\\\\");
+                break;
+            case '\n':
+                out.write("\\n");
+                break;
+            case '\r':
+                out.write("\\r");
+                break;
+            case '\t':
+                out.write("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    out.write(String.format("\\u%04x", (int) c));
+                } else {
+                    out.write(c);
+                }
+            }
+        }
+        out.write('"');
+    }
+
+    /**
+     * Reads one flat object whose values are strings, numbers, booleans or {@code null}.
+     */
+    private static class ObjectReader {
+        private final String s;
+        private int pos;
+
+        ObjectReader(String s) {
+            this.s = s;
+        }
+
+        String[] read() {
+            String[] record = new String[FIELDS.length];
+            expect('{');
+            skipSpace();
+            if (peek() == '}') {
+                pos++;
+                return record;
+            }
+            while (true) {
+                skipSpace();
+                String key = readString();
+                skipSpace();
+                expect(':');
+                skipSpace();
+                String value = readValue();
+                int field = FIELD_NAMES.indexOf(key);
+                if (field == DONE && value != null) {
+                    record[field] = "true".equals(value) || "1".equals(value) ? "1" : "0";
+                } else if (field >= 0) {
+                    record[field] = value;
+                }
+                skipSpace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    return record;
+                }
+            }
+        }
+
+        private String readValue() {
+            if (peek() == '"') {
+                return readString();
+            }
+            int start = pos;
+            while (pos < s.length() && ",} \t".indexOf(s.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = s.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw new IllegalArgumentException("expected a value at " + start);
+            }
+            return "null".equals(literal) ? null : literal;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (pos >= s.length()) {
+                    throw new IllegalArgumentException("unterminated string");
+                }
+                char c = s.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char e = pos < s.length() ? s.charAt(pos++) : '\\';
+                switch (e) {
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'u':
+                    if (pos + 4 > s.length()) {
+                        throw new IllegalArgumentException("bad unicode escape");
+                    }
+                    sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                    pos += 4;
+                    break;
+                default:
+                    sb.append(e);
+                }
+            }
+        }
+
+        private char peek() {
+            if (pos >= s.length()) {
+                throw new IllegalArgumentException("unexpected end of record");
+            }
+            return s.charAt(pos);
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw new IllegalArgumentException("expected '" + c + "' at " + pos);
+            }
+            pos++;
+        }
+
+        private void skipSpace() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package snow.io;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import snow.model.Deadline;
+import snow.model.Event;
+import snow.model.Place;
+import snow.model.Task;
+import snow.model.Todo;
+
+/**
+ * Decodes stored place and task lines in one pass over their characters.
+ *
+ * <p>The {@code " | "} separators are located once, and the status, fixed-width ISO
+ * timestamps and {@code pid=} ids are read straight from the line; only the name is copied
+ * out. A line that is not a valid record is reported with a {@link Result} saying why,
+ * instead of an exception. The accepted format is that of {@link Parser#parseLine(String)}
+ * and {@link Parser#parsePlaceFromStorage(String)}, except that tasks with a blank name or an
+ * event that ends before it starts are rejected rather than tripping the model's assertions.
+ *
+ * <p>A decoder keeps the result of the last line it decoded and is reused from line to line,
+ * so it must not be shared between threads.
+ */
+final class LineDecoder {
+    private static final String SEPARATOR = " | ";
+    private static final int ISO_MINUTES_LENGTH = 16;
+    private static final int ISO_SECONDS_LENGTH = 19;
+
+    /**
+     * The outcome of decoding a line.
+     */
+    enum Result {
+        TASK("task"),
+        PLACE("place"),
+        TOO_FEW_FIELDS("too few fields"),
+        BAD_STATUS("status is not 0 or 1"),
+        UNKNOWN_TYPE("unknown task type"),
+        BLANK_NAME("blank description"),
+        MISSING_DATE("missing date"),
+        BAD_DATE("invalid date"),
+        BAD_TIME_ORDER("event ends before it starts"),
+        BAD_PLACE_ID("invalid place id");
+
+        private final String description;
+
+        Result(String description) {
+            this.description = description;
+        }
+
+        /** Returns a short description of the outcome, for warnings. */
+        String getDescription() {
+            return description;
+        }
+    }
+
+    private int[] fieldStart = new int[8];
+    private int[] fieldEnd = new int[8];
+    private String line;
+    private int fields;
+    private Task task;
+    private Place place;
+    private int placeId;
+
+    /**
+     * Decodes {@code line} as a place or a task.
+     *
+     * @return {@link Result#TASK} or {@link Result#PLACE} if the line is valid, or why it is not
+     */
+    Result decode(String line) {
+        this.line = line;
+        task = null;
+        place = null;
+        placeId = -1;
+        split();
+        if (fields < 3) {
+            return Result.TOO_FEW_FIELDS;
+        }
+        if (is(0, "P")) {
+            long id = parseInt(fieldStart[1], fieldEnd[1]);
+            if (id == Long.MIN_VALUE) {
+                return Result.BAD_PLACE_ID;
+            }
+            place = new Place((int) id, field(2));
+            return Result.PLACE;
+        }
+        return decodeTask();
+    }
+
+    /** Returns the task from the last line, without its place attached; see {@link #getPlaceId()}. */
+    Task getTask() {
+        return task;
+    }
+
+    /** Returns the place from the last line. */
+    Place getPlace() {
+        return place;
+    }
+
+    /** Returns the {@code pid=} value of the last task line, or -1 if it has none. */
+    int getPlaceId() {
+        return placeId;
+    }
+
+    private Result decodeTask() {
+        boolean isDone;
+        if (is(1, "1")) {
+            isDone = true;
+        } else if (is(1, "0")) {
+            isDone = false;
+        } else {
+            return Result.BAD_STATUS;
+        }
+        char type = fieldEnd[0] - fieldStart[0] == 1 ? line.charAt(fieldStart[0]) : 0;
+        if (type != 'T' && type != 'D' && type != 'E') {
+            return Result.UNKNOWN_TYPE;
+        }
+        if (isBlank(fieldStart[2], fieldEnd[2])) {
+            return Result.BLANK_NAME;
+        }
+        String name = field(2);
+
+        switch (type) {
+        case 'T':
+            task = new Todo(name);
+            break;
+        case 'D':
+            if (fields < 4) {
+                return Result.MISSING_DATE;
+            }
+            LocalDateTime by = parseDateTime(fields - 1);
+            if (by == null) {
+                return Result.BAD_DATE;
+            }
+            task = new Deadline(name, by);
+            break;
+        default:
+            if (fields < 5) {
+                return Result.MISSING_DATE;
+            }
+            LocalDateTime from = parseDateTime(fields - 2);
+            LocalDateTime to = parseDateTime(fields - 1);
+            if (from == null || to == null) {
+                return Result.BAD_DATE;
+            }
+            if (from.isAfter(to)) {
+                return Result.BAD_TIME_ORDER;
+            }
+            task = new Event(name, from, to);
+            break;
+        }
+
+        for (int f = 3; f < fields; f++) {
+            if (line.startsWith("pid=", fieldStart[f])) {
+                long id = parseInt(fieldStart[f] + 4, fieldEnd[f]);
+                if (id == Long.MIN_VALUE) {
+                    task = null;
+                    return Result.BAD_PLACE_ID;
+                }
+                placeId = (int) id;
+                break;
+            }
+        }
+        if (isDone) {
+            task.mark();
+        }
+        return Result.TASK;
+    }
+
+    /**
+     * Locates the fields between {@code " | "} separators, as {@code line.split(" \\| ")} would,
+     * including dropping trailing empty fields.
+     */
+    private void split() {
+        fields = 0;
+        int begin = 0;
+        int at = line.indexOf(SEPARATOR);
+        while (at >= 0) {
+            addField(begin, at);
+            begin = at + SEPARATOR.length();
+            at = line.indexOf(SEPARATOR, begin);
+        }
+        addField(begin, line.length());
+        while (fields > 1 && fieldStart[fields - 1] == fieldEnd[fields - 1]) {
+            fields--;
+        }
+    }
+
+    private void addField(int start, int end) {
+        if (fields == fieldStart.length) {
+            fieldStart = Arrays.copyOf(fieldStart, fields * 2);
+            fieldEnd = Arrays.copyOf(fieldEnd, fields * 2);
+        }
+        fieldStart[fields] = start;
+        fieldEnd[fields] = end;
+        fields++;
+    }
+
+    private boolean is(int field, String value) {
+        return fieldEnd[field] - fieldStart[field] == value.length()
+                && line.startsWith(value, fieldStart[field]);
+    }
+
+    private String field(int field) {
+        return line.substring(fieldStart[field], fieldEnd[field]);
+    }
+
+    private boolean isBlank(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (line.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses an ISO datetime field, reading the usual fixed-width {@code yyyy-MM-ddTHH:mm[:ss]}
+     * shape directly and leaving any other shape to {@link LocalDateTime#parse(CharSequence)}.
+     *
+     * @return the datetime, or {@code null} if the field is not a valid ISO datetime
+     */
+    private LocalDateTime parseDateTime(int field) {
+        int s = fieldStart[field];
+        int length = fieldEnd[field] - s;
+        try {
+            if ((length == ISO_MINUTES_LENGTH || length == ISO_SECONDS_LENGTH)
+                    && line.charAt(s + 4) == '-' && line.charAt(s + 7) == '-' && line.charAt(s + 10) == 'T'
+                    && line.charAt(s + 13) == ':' && (length == ISO_MINUTES_LENGTH || line.charAt(s + 16) == ':')) {
+                int year = digits(s, 4);
+                int month = digits(s + 5, 2);
+                int day = digits(s + 8, 2);
+                int hour = digits(s + 11, 2);
+                int minute = digits(s + 14, 2);
+                int second = length == ISO_SECONDS_LENGTH ? digits(s + 17, 2) : 0;
+                if ((year | month | day | hour | minute | second) >= 0) {
+                    return LocalDateTime.of(year, month, day, hour, minute, second);
+                }
+            }
+            return LocalDateTime.parse(field(field));
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads {@code count} ASCII digits starting at {@code pos}, or returns -1 if any is not a digit.
+     */
+    private int digits(int pos, int count) {
+        int value = 0;
+        for (int i = pos; i < pos + count; i++) {
+            int d = line.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    /**
+     * Parses a decimal int as {@link Integer#parseInt(String)} does,
+     * or returns {@code Long.MIN_VALUE} if it is malformed.
+     */
+    private long parseInt(int start, int end) {
+        int i = start;
+        boolean isNegative = false;
+        if (i < end && (line.charAt(i) == '-' || line.charAt(i) == '+')) {
+            isNegative = line.charAt(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int d = Character.digit(line.charAt(i), 10);
+            if (d < 0) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + d;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return Long.MIN_VALUE;
+            }
+        }
+        value = isNegative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+    }
+}
@@ -0,0 +1,118 @@
+package snow.io;
+
+/**
+ * Summary of one {@link Storage#load(snow.model.TaskList)}: what was read, what was
+ * rejected and where it went, and how long each phase took.
+ */
+public class LoadReport {
+    private int taskCount;
+    private int placeCount;
+    private int verifiedCount;
+    private int uncheckedCount;
+    private int corruptCount;
+    private int unparseableCount;
+    private int replayedCount;
+    private int corruptJournalCount;
+    private String quarantinePath;
+    private long readNanos;
+    private long replayNanos;
+
+    /** Returns the number of tasks loaded from the save file. */
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    /** Returns the number of places loaded from the save file. */
+    public int getPlaceCount() {
+        return placeCount;
+    }
+
+    /** Returns the number of records whose checksum was verified. */
+    public int getVerifiedCount() {
+        return verifiedCount;
+    }
+
+    /** Returns the number of records accepted without a checksum, as written by older versions. */
+    public int getUncheckedCount() {
+        return uncheckedCount;
+    }
+
+    /** Returns the number of records skipped because their checksum did not match. */
+    public int getCorruptCount() {
+        return corruptCount;
+    }
+
+    /** Returns the number of records skipped because they could not be parsed. */
+    public int getUnparseableCount() {
+        return unparseableCount;
+    }
+
+    /** Returns the number of journal records replayed on top of the save file. */
+    public int getReplayedCount() {
+        return replayedCount;
+    }
+
+    /** Returns the number of journal records skipped because their checksum did not match. */
+    public int getCorruptJournalCount() {
+        return corruptJournalCount;
+    }
+
+    /** Returns the file skipped records were copied to, or {@code null} if none were. */
+    public String getQuarantinePath() {
+        return quarantinePath;
+    }
+
+    /** Returns whether any record was skipped. */
+    public boolean hasSkippedRecords() {
+        return corruptCount + unparseableCount + corruptJournalCount > 0;
+    }
+
+    /** Returns how long reading, verifying and parsing the save file took, in milliseconds. */
+    public long getReadMillis() {
+        return readNanos / 1_000_000;
+    }
+
+    /** Returns how long replaying the journal took, in milliseconds. */
+    public long getReplayMillis() {
+        return replayNanos / 1_000_000;
+    }
+
+    void addRecords(int tasks, int places, int verified, int unchecked) {
+        taskCount += tasks;
+        placeCount += places;
+        verifiedCount += verified;
+        uncheckedCount += unchecked;
+    }
+
+    void addSkipped(int corrupt, int unparseable) {
+        corruptCount += corrupt;
+        unparseableCount += unparseable;
+    }
+
+    void setReplayed(int replayed, int corruptJournal) {
+        replayedCount = replayed;
+        corruptJournalCount = corruptJournal;
+    }
+
+    void setQuarantinePath(String quarantinePath) {
+        this.quarantinePath = quarantinePath;
+    }
+
+    void setReadNanos(long readNanos) {
+        this.readNanos = readNanos;
+    }
+
+    void setReplayNanos(long replayNanos) {
+        this.replayNanos = replayNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("loaded %d tasks and %d places (%d verified, %d unchecked) in %d ms; "
+                        + "skipped %d corrupt and %d unparseable records; replayed %d journal records "
+                        + "(%d corrupt) in %d ms%s",
+                taskCount, placeCount, verifiedCount, uncheckedCount, getReadMillis(),
+                corruptCount, unparseableCount, replayedCount, corruptJournalCount, getReplayMillis(),
+                quarantinePath == null ? "" : "; quarantined to " + quarantinePath);
+    }
+}
@@ -0,0 +1,575 @@
+package snow.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.CRC32C;
+
+import snow.model.Deadline;
+import snow.model.Event;
+import snow.model.Place;
+import snow.model.PlaceRegistry;
+import snow.model.Task;
+import snow.model.TaskList;
+import snow.model.Todo;
+
+/**
+ * Loads a text save file by memory-mapping it and scanning its bytes directly.
+ *
+ * <p>Lines and {@code " | "} field separators are located in the mapped buffer, and
+ * tasks are built straight from the field bytes: only the task and place names are
+ * decoded into {@code String}s. Lines the fast path does not recognise are decoded
+ * and handed to a {@link LineDecoder}, so the accepted format is exactly that of
+ * {@link Parser#parseLine(String)} and {@link Parser#parsePlaceFromStorage(String)},
+ * and a skipped line is reported with the reason it was rejected.
+ *
+ * <p>Large files are split into newline-aligned chunks that are parsed in parallel on a
+ * {@link ForkJoinPool}. Tasks keep their place ids unresolved while chunks are parsed;
+ * once every chunk is done, places are registered in file order and tasks are attached
+ * to them and appended to the list in file order, so task indices are unchanged.
+ *
+ * <p>Records sealed with a {@link RecordChecksum} are verified against the mapped bytes
+ * before they are parsed. Records that fail verification or cannot be parsed are skipped,
+ * reported, and kept in {@link #getSkippedLines()} so the caller can quarantine them.
+ */
+public class MappedTaskReader {
+    /** Largest region mapped at once; files bigger than this are read in newline-aligned windows. */
+    private static final int WINDOW_SIZE = 1 << 30;
+
+    /** Regions smaller than this are parsed on the calling thread. */
+    private static final int PARALLEL_THRESHOLD = 4 << 20;
+
+    /** Chunks are not split below this size. */
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+
+    private static final int MAX_FIELDS = 8;
+    private static final int ISO_MINUTES_LENGTH = 16;
+    private static final int ISO_SECONDS_LENGTH = 19;
+    private static final String SEQUENCE_MARKER = "# journal=";
+
+    private final ForkJoinPool pool;
+    private final List<String> skippedLines = new ArrayList<>();
+
+    /**
+     * Creates a reader that parses large files on the common fork-join pool.
+     */
+    public MappedTaskReader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a reader that parses large files on the given pool.
+     *
+     * @param pool the pool chunks are parsed on
+     */
+    public MappedTaskReader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Reads every place and task in {@code file}, registering the places with
+     * {@link PlaceRegistry} and appending the tasks to {@code taskList}.
+     *
+     * @param file the text save file
+     * @param taskList the list to append tasks to
+     * @return the journal sequence recorded in the file's marker line, or 0 if there is none
+     * @throws IOException if the file cannot be mapped
+     */
+    public long read(File file, TaskList taskList) throws IOException {
+        return read(file, taskList, new LoadReport());
+    }
+
+    /**
+     * Reads every place and task in {@code file} as {@link #read(File, TaskList)} does,
+     * adding the record counts to {@code report}.
+     *
+     * @param file the text save file
+     * @param taskList the list to append tasks to
+     * @param report the report to add counts to
+     * @return the journal sequence recorded in the file's marker line, or 0 if there is none
+     * @throws IOException if the file cannot be mapped
+     */
+    public long read(File file, TaskList taskList, LoadReport report) throws IOException {
+        skippedLines.clear();
+        List<Chunk> chunks = new ArrayList<>();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                int length = (int) Math.min(size - position, WINDOW_SIZE);
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int consumed;
+                try {
+                    consumed = position + length == size ? length : lastLineEnd(buf, length);
+                    if (consumed == 0) {
+                        throw new IOException("line longer than " + WINDOW_SIZE + " bytes");
+                    }
+                    chunks.addAll(parse(buf, consumed));
+                } finally {
+                    unmap(buf);
+                }
+                position += consumed;
+            }
+        }
+        return merge(chunks, taskList, report);
+    }
+
+    /**
+     * Returns the records skipped by the last read, each preceded by a comment giving
+     * its line number and the reason it was skipped.
+     */
+    public List<String> getSkippedLines() {
+        return skippedLines;
+    }
+
+    private List<Chunk> parse(MappedByteBuffer buf, int length) {
+        if (length < PARALLEL_THRESHOLD) {
+            Chunk chunk = new Chunk(buf);
+            chunk.parse(0, length);
+            return List.of(chunk);
+        }
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, length / (pool.getParallelism() * 4));
+        return pool.invoke(new ParseRange(buf, 0, length, chunkSize));
+    }
+
+    /**
+     * Registers the places and appends the tasks of every chunk in file order.
+     *
+     * @return the journal sequence recorded in the file, or 0 if there is none
+     */
+    private long merge(List<Chunk> chunks, TaskList taskList, LoadReport report) {
+        long baseSequence = 0;
+        int lineOffset = 0;
+        for (Chunk chunk : chunks) {
+            for (Place place : chunk.places) {
+                PlaceRegistry.addPlace(place);
+            }
+            for (int i = 0; i < chunk.warningLines.size(); i++) {
+                int lineNumber = lineOffset + chunk.warningLines.get(i);
+                String reason = chunk.warningReasons.get(i);
+                boolean isCorrupt = reason == null;
+                System.out.println("Warning: " + (isCorrupt ? "Checksum mismatch on" : "Failed to parse")
+                        + " line " + lineNumber + (isCorrupt ? "" : " (" + reason + ")")
+                        + ": " + chunk.warningTexts.get(i));
+                skippedLines.add("# line " + lineNumber + ": " + (isCorrupt ? "checksum mismatch" : reason));
+                skippedLines.add(chunk.warningTexts.get(i));
+            }
+            if (chunk.baseSequence >= 0) {
+                baseSequence = chunk.baseSequence;
+            }
+            report.addRecords(chunk.tasks.size(), chunk.places.size(), chunk.verifiedCount, chunk.uncheckedCount);
+            report.addSkipped(chunk.corruptCount, chunk.warningLines.size() - chunk.corruptCount);
+            lineOffset += chunk.lineCount;
+        }
+
+        Map<Integer, Place> placesById = new HashMap<>();
+        for (Place place : PlaceRegistry.getPlaces()) {
+            placesById.putIfAbsent(place.getId(), place);
+        }
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.tasks.size(); i++) {
+                Task task = chunk.tasks.get(i);
+                int placeId = chunk.placeIds[i];
+                if (placeId != -1) {
+                    Place place = placesById.get(placeId);
+                    if (place != null) {
+                        task.setPlace(place);
+                    }
+                }
+                taskList.add(task);
+            }
+        }
+        return baseSequence;
+    }
+
+    /**
+     * Returns the offset just after the last newline in the first {@code length} bytes, or 0 if there is none.
+     */
+    private static int lastLineEnd(MappedByteBuffer buf, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buf.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Releases a mapping eagerly so the file can be replaced right away on platforms
+     * (such as Windows) that refuse to overwrite mapped files. Best effort only.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", java.nio.ByteBuffer.class);
+            invokeCleaner.invoke(theUnsafe.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Leave the mapping to the garbage collector
+        }
+    }
+
+    /**
+     * Splits a byte range in half at a line boundary until it is small enough to parse directly.
+     */
+    private static final class ParseRange extends RecursiveTask<List<Chunk>> {
+        private final MappedByteBuffer buf;
+        private final int start;
+        private final int end;
+        private final int chunkSize;
+
+        ParseRange(MappedByteBuffer buf, int start, int end, int chunkSize) {
+            this.buf = buf;
+            this.start = start;
+            this.end = end;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected List<Chunk> compute() {
+            int mid = end - start > chunkSize ? nextLineStart(start + (end - start) / 2) : end;
+            if (mid >= end) {
+                Chunk chunk = new Chunk(buf);
+                chunk.parse(start, end);
+                List<Chunk> result = new ArrayList<>();
+                result.add(chunk);
+                return result;
+            }
+            ParseRange left = new ParseRange(buf, start, mid, chunkSize);
+            ParseRange right = new ParseRange(buf, mid, end, chunkSize);
+            left.fork();
+            List<Chunk> rightChunks = right.compute();
+            List<Chunk> result = left.join();
+            result.addAll(rightChunks);
+            return result;
+        }
+
+        private int nextLineStart(int pos) {
+            while (pos < end && buf.get(pos) != '\n') {
+                pos++;
+            }
+            return pos + 1;
+        }
+    }
+
+    /**
+     * Parser state and results for one newline-aligned range of the mapped file.
+     * Tasks are kept with their place ids unresolved until every chunk is parsed.
+     */
+    private static final class Chunk {
+        private final MappedByteBuffer buf;
+        private final CRC32C crc = new CRC32C();
+        private final int[] fieldStart = new int[MAX_FIELDS];
+        private final int[] fieldEnd = new int[MAX_FIELDS];
+
+        private final List<Task> tasks = new ArrayList<>();
+        private int[] placeIds = new int[64];
+        private final List<Place> places = new ArrayList<>();
+        private final List<Integer> warningLines = new ArrayList<>();
+        private final List<String> warningTexts = new ArrayList<>();
+        private final List<String> warningReasons = new ArrayList<>();
+        private final LineDecoder decoder = new LineDecoder();
+        private int lineCount;
+        private int verifiedCount;
+        private int uncheckedCount;
+        private int corruptCount;
+        private long baseSequence = -1;
+
+        Chunk(MappedByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        void parse(int start, int end) {
+            int lineStart = start;
+            for (int i = start; i < end; i++) {
+                if (buf.get(i) == '\n') {
+                    readLine(lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            if (lineStart < end) {
+                readLine(lineStart, end);
+            }
+        }
+
+        private void readLine(int start, int end) {
+            lineCount++;
+
+            // Trim like String.trim(): drop control characters and spaces at both ends
+            while (start < end && (buf.get(start) & 0xFF) <= ' ') {
+                start++;
+            }
+            while (end > start && (buf.get(end - 1) & 0xFF) <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                return;
+            }
+
+            if (buf.get(start) == '#') {
+                readComment(start, end);
+                return;
+            }
+
+            boolean isChecked = RecordChecksum.hasChecksum(buf, start, end);
+            if (isChecked && !RecordChecksum.isIntact(crc, buf, start, end)) {
+                corruptCount++;
+                warn(decode(start, end), null);
+                return;
+            }
+            int recordEnd = isChecked ? end - RecordChecksum.SUFFIX_LENGTH : end;
+
+            int fields = splitFields(start, recordEnd);
+            LineDecoder.Result result = fields > 0 && (readPlace(fields) || decodeTask(fields))
+                    ? LineDecoder.Result.TASK : parseSlowly(start, recordEnd);
+            if (result != LineDecoder.Result.TASK && result != LineDecoder.Result.PLACE) {
+                warn(decode(start, end), result.getDescription());
+            } else if (isChecked) {
+                verifiedCount++;
+            } else {
+                uncheckedCount++;
+            }
+        }
+
+        /**
+         * Records a skipped line, with why it could not be parsed, or {@code null} if its checksum failed.
+         */
+        private void warn(String line, String reason) {
+            warningLines.add(lineCount);
+            warningTexts.add(line);
+            warningReasons.add(reason);
+        }
+
+        private void readComment(int start, int end) {
+            String line = decode(start, end);
+            if (line.startsWith(SEQUENCE_MARKER)) {
+                try {
+                    baseSequence = Long.parseLong(line.substring(SEQUENCE_MARKER.length()).trim());
+                } catch (NumberFormatException e) {
+                    baseSequence = 0;
+                }
+            }
+        }
+
+        /**
+         * Falls back to the string-based {@link LineDecoder} for lines the fast path rejects.
+         *
+         * @return what the line was decoded as, or why it could not be
+         */
+        private LineDecoder.Result parseSlowly(int start, int end) {
+            LineDecoder.Result result = decoder.decode(decode(start, end));
+            if (result == LineDecoder.Result.PLACE) {
+                places.add(decoder.getPlace());
+            } else if (result == LineDecoder.Result.TASK) {
+                addTask(decoder.getTask(), decoder.getPlaceId());
+            }
+            return result;
+        }
+
+        private void addTask(Task task, int placeId) {
+            if (tasks.size() == placeIds.length) {
+                placeIds = Arrays.copyOf(placeIds, placeIds.length * 2);
+            }
+            placeIds[tasks.size()] = placeId;
+            tasks.add(task);
+        }
+
+        /**
+         * Locates the {@code " | "}-separated fields of a line.
+         *
+         * @return the number of fields, or 0 if the line has empty or too many fields
+         */
+        private int splitFields(int start, int end) {
+            int count = 0;
+            int fieldBegin = start;
+            for (int i = start; i + 2 < end; i++) {
+                if (buf.get(i) == ' ' && buf.get(i + 1) == '|' && buf.get(i + 2) == ' ') {
+                    if (count == MAX_FIELDS - 1 || i == fieldBegin) {
+                        return 0;
+                    }
+                    fieldStart[count] = fieldBegin;
+                    fieldEnd[count] = i;
+                    count++;
+                    fieldBegin = i + 3;
+                    i += 2;
+                }
+            }
+            if (fieldBegin >= end) {
+                return 0;
+            }
+            fieldStart[count] = fieldBegin;
+            fieldEnd[count] = end;
+            return count + 1;
+        }
+
+        private boolean readPlace(int fields) {
+            if (fields < 3 || fieldEnd[0] - fieldStart[0] != 1 || buf.get(fieldStart[0]) != 'P') {
+                return false;
+            }
+            long id = parseInt(fieldStart[1], fieldEnd[1]);
+            if (id == Long.MIN_VALUE) {
+                return false;
+            }
+            places.add(new Place((int) id, decode(fieldStart[2], fieldEnd[2])));
+            return true;
+        }
+
+        /**
+         * Builds a task from the located fields.
+         *
+         * @return false if the fast path cannot handle the line
+         */
+        private boolean decodeTask(int fields) {
+            if (fields < 3 || fieldEnd[0] - fieldStart[0] != 1 || fieldEnd[1] - fieldStart[1] != 1) {
+                return false;
+            }
+            byte status = buf.get(fieldStart[1]);
+            if (status != '0' && status != '1') {
+                return false;
+            }
+            long placeId = findPlaceId(fields);
+            if (placeId == Long.MIN_VALUE) {
+                return false;
+            }
+
+            String name = decode(fieldStart[2], fieldEnd[2]);
+            if (name.isBlank()) {
+                return false;
+            }
+            Task task;
+            switch (buf.get(fieldStart[0])) {
+            case 'T':
+                task = new Todo(name);
+                break;
+            case 'D':
+                LocalDateTime by = fields >= 4 ? parseDateTime(fields - 1) : null;
+                if (by == null) {
+                    return false;
+                }
+                task = new Deadline(name, by);
+                break;
+            case 'E':
+                LocalDateTime from = fields >= 5 ? parseDateTime(fields - 2) : null;
+                LocalDateTime to = fields >= 5 ? parseDateTime(fields - 1) : null;
+                if (from == null || to == null || from.isAfter(to)) {
+                    return false;
+                }
+                task = new Event(name, from, to);
+                break;
+            default:
+                return false;
+            }
+
+            if (status == '1') {
+                task.mark();
+            }
+            addTask(task, (int) placeId);
+            return true;
+        }
+
+        /**
+         * Returns the value of the first {@code pid=} field, as {@code Parser.parseLine} reads it.
+         *
+         * @return the place id, -1 if there is none, or {@code Long.MIN_VALUE} if it is malformed
+         */
+        private long findPlaceId(int fields) {
+            for (int f = 3; f < fields; f++) {
+                int s = fieldStart[f];
+                if (fieldEnd[f] - s >= 4 && buf.get(s) == 'p' && buf.get(s + 1) == 'i'
+                        && buf.get(s + 2) == 'd' && buf.get(s + 3) == '=') {
+                    return parseInt(s + 4, fieldEnd[f]);
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Parses a fixed-width ISO {@code yyyy-MM-ddTHH:mm[:ss]} field.
+         *
+         * @return the datetime, or {@code null} if the field has another shape or is out of range
+         */
+        private LocalDateTime parseDateTime(int field) {
+            int s = fieldStart[field];
+            int length = fieldEnd[field] - s;
+            if (length != ISO_MINUTES_LENGTH && length != ISO_SECONDS_LENGTH) {
+                return null;
+            }
+            if (buf.get(s + 4) != '-' || buf.get(s + 7) != '-' || buf.get(s + 10) != 'T'
+                    || buf.get(s + 13) != ':' || (length == ISO_SECONDS_LENGTH && buf.get(s + 16) != ':')) {
+                return null;
+            }
+            int year = digits(s, 4);
+            int month = digits(s + 5, 2);
+            int day = digits(s + 8, 2);
+            int hour = digits(s + 11, 2);
+            int minute = digits(s + 14, 2);
+            int second = length == ISO_SECONDS_LENGTH ? digits(s + 17, 2) : 0;
+            if ((year | month | day | hour | minute | second) < 0) {
+                return null;
+            }
+            try {
+                return LocalDateTime.of(year, month, day, hour, minute, second);
+            } catch (DateTimeException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Reads {@code count} ASCII digits starting at {@code pos}, or returns -1 if any is not a digit.
+         */
+        private int digits(int pos, int count) {
+            int value = 0;
+            for (int i = pos; i < pos + count; i++) {
+                int d = buf.get(i) - '0';
+                if (d < 0 || d > 9) {
+                    return -1;
+                }
+                value = value * 10 + d;
+            }
+            return value;
+        }
+
+        /**
+         * Parses an optionally negative decimal int, or returns {@code Long.MIN_VALUE} if malformed.
+         */
+        private long parseInt(int start, int end) {
+            boolean isNegative = start < end && buf.get(start) == '-';
+            int i = isNegative ? start + 1 : start;
+            if (i == end || end - i > 10) {
+                return Long.MIN_VALUE;
+            }
+            long value = 0;
+            for (; i < end; i++) {
+                int d = buf.get(i) - '0';
+                if (d < 0 || d > 9) {
+                    return Long.MIN_VALUE;
+                }
+                value = value * 10 + d;
+            }
+            value = isNegative ? -value : value;
+            return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+        }
+
+        private String decode(int start, int end) {
+            byte[] bytes = new byte[end - start];
+            buf.get(start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
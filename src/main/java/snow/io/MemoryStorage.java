@@ -0,0 +1,155 @@
+package snow.io;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import snow.exception.SnowFileException;
+import snow.model.Task;
+import snow.model.TaskList;
+
+/**
+ * Keeps saved tasks in memory instead of in files, for tests and benchmarks.
+ *
+ * <p>Tasks are kept as their save lines, so a load parses fresh tasks as a file backend would,
+ * and changing the list after a save does not change what is stored. Nothing outlives the
+ * process. Imports and exports still read and write real files.
+ */
+public class MemoryStorage implements StorageBackend {
+    private final List<String> lines = new ArrayList<>();
+    private final TaskList archived = new TaskList();
+    private int saveCount;
+
+    @Override
+    public synchronized LoadReport load(TaskList taskList) {
+        LoadReport report = new LoadReport();
+        long start = System.nanoTime();
+        int loaded = 0;
+        for (String line : lines) {
+            Task task = Parser.parseLine(line);
+            if (task != null) {
+                taskList.add(task);
+                loaded++;
+            }
+        }
+        report.addRecords(loaded, 0, loaded, 0);
+        report.addSkipped(0, lines.size() - loaded);
+        report.setReadNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    @Override
+    public synchronized void save(TaskList taskList) {
+        lines.clear();
+        for (int i = 0; i < taskList.size(); i++) {
+            lines.add(taskList.toSaveString(i));
+        }
+        saveCount++;
+    }
+
+    @Override
+    public synchronized void recordAdd(TaskList taskList, Task task) {
+        lines.add(task.toSaveString());
+    }
+
+    @Override
+    public synchronized void recordMark(TaskList taskList, int index) {
+        lines.set(index, taskList.toSaveString(index));
+    }
+
+    @Override
+    public synchronized void recordUnmark(TaskList taskList, int index) {
+        lines.set(index, taskList.toSaveString(index));
+    }
+
+    @Override
+    public synchronized void recordDelete(TaskList taskList, int index, Task removed) {
+        lines.remove(index);
+    }
+
+    @Override
+    public void flush() {
+        // Every change is stored as soon as it is recorded
+    }
+
+    @Override
+    public void loadDate(TaskList taskList, LocalDate date) {
+        // Every task is loaded up front
+    }
+
+    @Override
+    public void loadAll(TaskList taskList) {
+        // Every task is loaded up front
+    }
+
+    @Override
+    public synchronized int archive(TaskList taskList, LocalDate cutoff) {
+        List<Task> kept = new ArrayList<>();
+        int count = 0;
+        for (int i = 0; i < taskList.size(); i++) {
+            Task task = taskList.get(i);
+            LocalDate last = task.getLastDate();
+            if (task.isDone() && (last == null || last.isBefore(cutoff))) {
+                archived.add(task);
+                count++;
+            } else {
+                kept.add(task);
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        taskList.clear();
+        for (Task task : kept) {
+            taskList.add(task);
+        }
+        save(taskList);
+        return count;
+    }
+
+    @Override
+    public synchronized List<Task> findArchived(String keyword) {
+        return archived.find(keyword);
+    }
+
+    @Override
+    public synchronized List<Task> findArchivedOnDate(LocalDate date) {
+        return archived.findTaskWithDate(date);
+    }
+
+    @Override
+    public TransferReport importTasks(TaskList taskList, String path) throws SnowFileException {
+        TransferReport report;
+        try {
+            report = TaskTransfer.importFrom(Paths.get(path), taskList);
+        } catch (IOException | IllegalArgumentException e) {
+            throw SnowFileException.accessDenied(path + " - " + e.getMessage());
+        }
+        long start = System.nanoTime();
+        if (report.getRecordCount() > 0) {
+            save(taskList);
+        }
+        return report.plus(System.nanoTime() - start);
+    }
+
+    @Override
+    public TransferReport exportTasks(TaskList taskList, String path) throws SnowFileException {
+        try {
+            return TaskTransfer.exportTo(Paths.get(path), taskList);
+        } catch (IOException | IllegalArgumentException e) {
+            throw SnowFileException.accessDenied(path + " - " + e.getMessage());
+        }
+    }
+
+    /** Returns the stored save lines, in list order. */
+    public synchronized List<String> getLines() {
+        return new ArrayList<>(lines);
+    }
+
+    /** Returns the number of full saves made so far. */
+    public synchronized int getSaveCount() {
+        return saveCount;
+    }
+}
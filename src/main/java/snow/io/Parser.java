@@ -2,22 +2,33 @@ package snow.io;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 import snow.commands.AddCommand;
+import snow.commands.ArchiveCommand;
+import snow.commands.BlockCommand;
 import snow.commands.ByeCommand;
 import snow.commands.Command;
 import snow.commands.DeleteCommand;
+import snow.commands.ExportCommand;
+import snow.commands.FindBetweenCommand;
 import snow.commands.FindByDateCommand;
 import snow.commands.FindCommand;
+import snow.commands.ImportCommand;
 import snow.commands.ListCommand;
 import snow.commands.MarkCommand;
+import snow.commands.OverdueCommand;
 import snow.commands.PlacesCommand;
+import snow.commands.TransactionCommand;
 import snow.commands.UnmarkCommand;
 import snow.datetime.DateTime;
 import snow.exception.SnowException;
 import snow.exception.SnowInvalidCommandException;
 import snow.exception.SnowInvalidDateException;
 import snow.exception.SnowTaskException;
+import snow.exception.SnowTransactionException;
 import snow.model.Deadline;
 import snow.model.Event;
 import snow.model.Place;
@@ -27,15 +38,23 @@ import snow.model.Todo;
 
 /**
  * Provides methods to parse user input into commands and arguments.
+ * Command input is split by {@link Tokenizer}, which scans characters instead of using regexes.
  */
 public class Parser {
+    /** Separates commands that run together as one transaction. */
+    public static final char COMMAND_SEPARATOR = ';';
+
+    /** The first words that {@link #getCmd(String)} recognises. */
+    private static final Set<String> COMMAND_WORDS = Set.of("todo", "deadline", "event", "mark", "unmark",
+            "list", "delete", "find", "findbydate", "findbetween", "overdue", "places", "archive", "import",
+            "export", "begin", "commit", "rollback", "bye");
 
     /**
      * Returns the task description and place name.
      * @param description Input string including place
      */
     public static String[] parsePlace(String description) {
-        return description.split("\\s*/at\\s*", 2);
+        return Tokenizer.splitOnFlag(description, "/at");
     }
 
     /**
@@ -51,21 +70,21 @@ public class Parser {
             throw new SnowInvalidCommandException("Command cannot be null");
         }
 
-        cmd = cmd.trim();
+        // Trim and collapse whitespace in one pass
+        cmd = Tokenizer.normalize(cmd);
         if (cmd.isEmpty()) {
             throw new SnowInvalidCommandException("Command cannot be empty");
         }
-
-        // Replace multiple spaces with single space
-        cmd = cmd.replaceAll("\\s+", " ");
-
-        String[] parts = cmd.split(" ", 2);
-        if (parts.length == 0) {
-            throw new SnowInvalidCommandException("Command cannot be empty");
+        if (cmd.indexOf(COMMAND_SEPARATOR) >= 0) {
+            List<String> parts = splitCommands(cmd);
+            if (parts.size() > 1) {
+                return toTransaction(parts);
+            }
         }
 
-        String firstWord = parts[0].toLowerCase(); // Case insensitive commands
-        String description = (parts.length == 1) ? "" : parts[1];
+        int space = cmd.indexOf(' ');
+        String firstWord = (space < 0 ? cmd : cmd.substring(0, space)).toLowerCase(); // Case insensitive commands
+        String description = (space < 0) ? "" : cmd.substring(space + 1);
 
         return switch (firstWord) {
         case "todo" -> AddCommand.todo(description);
@@ -77,12 +96,69 @@ public class Parser {
         case "delete" -> new DeleteCommand(description);
         case "find" -> new FindCommand(description);
         case "findbydate" -> createFindByDateCommand(description);
+        case "findbetween" -> createFindBetweenCommand(description);
+        case "overdue" -> new OverdueCommand();
         case "places" -> new PlacesCommand();
+        case "archive" -> new ArchiveCommand(description);
+        case "import" -> new ImportCommand(description);
+        case "export" -> new ExportCommand(description);
+        case "begin" -> BlockCommand.begin();
+        case "commit" -> BlockCommand.commit();
+        case "rollback" -> BlockCommand.rollback();
         case "bye" -> new ByeCommand();
         default -> throw new SnowInvalidCommandException(firstWord);
         };
     }
 
+    /**
+     * Splits input into the commands of a transaction, separated by {@code ;}.
+     *
+     * <p>Expected format: {@code <command>; <command>; ...}. Empty commands are skipped. Input
+     * is only split if every part starts with a command word, so a {@code ;} inside a task
+     * description or search keyword, as in {@code todo buy milk; eggs}, is kept.
+     *
+     * @param cmd normalized user input containing at least one separator
+     * @return the commands, or just {@code cmd} if it is a single command
+     */
+    private static List<String> splitCommands(String cmd) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        while (start <= cmd.length()) {
+            int end = cmd.indexOf(COMMAND_SEPARATOR, start);
+            if (end < 0) {
+                end = cmd.length();
+            }
+            String part = cmd.substring(start, end).trim();
+            if (!part.isEmpty()) {
+                int space = part.indexOf(' ');
+                String firstWord = (space < 0 ? part : part.substring(0, space)).toLowerCase();
+                if (!COMMAND_WORDS.contains(firstWord)) {
+                    return List.of(cmd);
+                }
+                parts.add(part);
+            }
+            start = end + 1;
+        }
+        return parts.isEmpty() ? List.of(cmd) : parts;
+    }
+
+    /**
+     * Builds a transaction that runs {@code parts} in order.
+     *
+     * @throws SnowTransactionException if a command cannot run inside a transaction
+     */
+    private static Command toTransaction(List<String> parts) throws SnowException {
+        List<Command> commands = new ArrayList<>(parts.size());
+        for (String part : parts) {
+            Command c = getCmd(part);
+            if (!c.isTransactional()) {
+                throw SnowTransactionException.notAllowed(part);
+            }
+            commands.add(c);
+        }
+        return new TransactionCommand(commands);
+    }
+
     /**
      * Validates that all required parts are present and non-blank.
      *
@@ -122,6 +198,29 @@ public class Parser {
         }
     }
 
+    /**
+     * Creates a FindBetweenCommand from the given range description.
+     *
+     * <p>Expected format: {@code findbetween <date> /to <date>}, with dates in the formats
+     * {@link DateTime#parse(String)} accepts.
+     *
+     * @param description the range description
+     * @return a FindBetweenCommand for the range
+     * @throws SnowException if a date is missing or invalid, or the range ends before it starts
+     */
+    private static FindBetweenCommand createFindBetweenCommand(String description) throws SnowException {
+        String[] parts = Tokenizer.splitOnFlag(description, "/to");
+        if (parts.length == 1 || isInvalid(parts[0], parts[1])) {
+            throw SnowTaskException.missingDate("findbetween");
+        }
+        LocalDate from = DateTime.parse(parts[0].trim()).toLocalDate();
+        LocalDate to = DateTime.parse(parts[1].trim()).toLocalDate();
+        if (from.isAfter(to)) {
+            throw SnowTaskException.invalidDateRange();
+        }
+        return new FindBetweenCommand(from, to);
+    }
+
     /**
      * Builds an add-deadline command from the given description.
      *
@@ -133,7 +232,7 @@ public class Parser {
      * @throws SnowEmptyTaskException if the description is missing
      */
     public static Command splitDeadline(String description) throws SnowException {
-        String[] parts = description.split("\\s*/by\\s*", 2);
+        String[] parts = Tokenizer.splitOnFlag(description, "/by");
         if (parts.length == 0 || isInvalid(parts[0])) {
             throw SnowTaskException.emptyDescription("deadline");
         }
@@ -164,7 +263,7 @@ public class Parser {
             throw SnowTaskException.missingEndTime();
         }
 
-        String[] parts = description.split("\\s*/from\\s*", 2);
+        String[] parts = Tokenizer.splitOnFlag(description, "/from");
         if (parts.length == 0 || isInvalid(parts[0])) {
             throw SnowTaskException.emptyDescription("event");
         }
@@ -172,7 +271,7 @@ public class Parser {
             throw SnowTaskException.missingDate("event");
         }
 
-        String[] dates = parts[1].split("\\s*/to\\s*", 2);
+        String[] dates = Tokenizer.splitOnFlag(parts[1], "/to");
         if (dates.length < 2 || isInvalid(dates[0], dates[1])) {
             throw SnowTaskException.missingEndTime();
         }
@@ -202,105 +301,50 @@ public class Parser {
      *   <li>{@code E | 0|1 | name | 2024-01-31T10:00 | 2024-01-31T12:00}</li>
      * </ul>
      *
+     * <p>The line is read by a {@link LineDecoder}, which can also say why a line was rejected.
+     *
      * @param line serialized task line
      * @return a {@link Task} instance, or {@code null} if the type is unknown or parsing fails
      */
     public static Task parseLine(String line) {
-        try {
-            String[] parts = line.split(" \\| ");
-            if (!isValidLineFormat(parts)) {
-                return null;
-            }
-
-            String type = parts[0];
-            boolean isDone = parseStatus(parts[1]);
-            String name = parts[2];
-
-            Task task = createTaskByType(type, name, parts);
-            if (task == null) {
-                return null;
-            }
-
-            if (isDone) {
-                task.mark();
-            }
-
-            attachPlaceToTask(task, parts);
-            return task;
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
-    /**
-     * Validates the basic format of a parsed line.
-     */
-    private static boolean isValidLineFormat(String[] parts) {
-        return parts.length >= 3;
-    }
-
-    /**
-     * Parses the status string into a boolean.
-     */
-    private static boolean parseStatus(String statusStr) {
-        if (!"0".equals(statusStr) && !"1".equals(statusStr)) {
-            throw new IllegalArgumentException("Invalid status: " + statusStr);
-        }
-        return "1".equals(statusStr);
-    }
-
-    /**
-     * Creates a task based on the type and parts array.
-     */
-    private static Task createTaskByType(String type, String name, String[] parts) {
-        return switch (type) {
-        case "T" -> new Todo(name);
-        case "D" -> createDeadlineTask(name, parts);
-        case "E" -> createEventTask(name, parts);
-        default -> null;
-        };
-    }
-
-    /**
-     * Creates a deadline task from parsed parts.
-     */
-    private static Task createDeadlineTask(String name, String[] parts) {
-        if (parts.length < 4) {
+        LineDecoder decoder = new LineDecoder();
+        if (decoder.decode(line) != LineDecoder.Result.TASK) {
             return null;
         }
-        String dateStr = parts[parts.length - 1];
-        return new Deadline(name, LocalDateTime.parse(dateStr));
+        Task task = decoder.getTask();
+        attachPlace(task, decoder.getPlaceId());
+        return task;
     }
 
     /**
-     * Creates an event task from parsed parts.
+     * Attaches the registered place with the given id to a task, if there is one.
      */
-    private static Task createEventTask(String name, String[] parts) {
-        if (parts.length < 5) {
-            return null;
+    static void attachPlace(Task task, int placeId) {
+        if (placeId != -1) {
+            Place place = PlaceRegistry.findById(placeId);
+            if (place != null) {
+                task.setPlace(place);
+            }
         }
-        String startStr = parts[parts.length - 2];
-        String endStr = parts[parts.length - 1];
-        return new Event(name, LocalDateTime.parse(startStr), LocalDateTime.parse(endStr));
     }
 
     /**
-     * Attaches place information to a task if present in the parts.
+     * Returns the place id stored in a serialized task line, without resolving it.
+     *
+     * @param line serialized task line
+     * @return the {@code pid=} value, or -1 if the line has none
      */
-    private static void attachPlaceToTask(Task task, String[] parts) {
-        for (int i = 3; i < parts.length; i++) {
-            String part = parts[i];
+    public static int parsePlaceId(String line) {
+        for (String part : line.split(" \\| ")) {
             if (part.startsWith("pid=")) {
-                int placeId = Integer.parseInt(part.substring(4));
-                if (placeId != -1) {
-                    Place place = PlaceRegistry.findById(placeId);
-                    if (place != null) {
-                        task.setPlace(place);
-                    }
+                try {
+                    return Integer.parseInt(part.substring(4));
+                } catch (NumberFormatException e) {
+                    return -1;
                 }
-                break;
             }
         }
+        return -1;
     }
 
     /**
@@ -310,17 +354,7 @@ public class Parser {
      * @return a {@link Place} instance, or {@code null} if not a place or parsing fails
      */
     public static Place parsePlaceFromStorage(String line) {
-        try {
-            String[] parts = line.split(" \\| ");
-
-            if (parts.length >= 3 && "P".equals(parts[0])) {
-                int id = Integer.parseInt(parts[1]);
-                String name = parts[2];
-                return new Place(id, name);
-            }
-            return null;
-        } catch (Exception e) {
-            return null;
-        }
+        LineDecoder decoder = new LineDecoder();
+        return decoder.decode(line) == LineDecoder.Result.PLACE ? decoder.getPlace() : null;
     }
 }
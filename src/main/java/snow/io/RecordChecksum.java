@@ -0,0 +1,123 @@
+package snow.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * CRC32C checksums carried at the end of every stored record.
+ *
+ * <p>A sealed record is the record followed by {@code " | crc=xxxxxxxx"}, where the
+ * eight lowercase hex digits are the CRC32C of the record's UTF-8 bytes. Records
+ * without the suffix are accepted as written by older versions.
+ */
+public final class RecordChecksum {
+    /** Field that introduces the checksum. */
+    public static final String FIELD = " | crc=";
+
+    /** Length of the checksum suffix, field and hex digits included. */
+    public static final int SUFFIX_LENGTH = FIELD.length() + 8;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private RecordChecksum() {
+
+    }
+
+    /**
+     * Returns {@code record} with its checksum appended.
+     */
+    public static String seal(String record) {
+        int crc = compute(record);
+        StringBuilder sb = new StringBuilder(record.length() + SUFFIX_LENGTH).append(record).append(FIELD);
+        for (int shift = 28; shift >= 0; shift -= 4) {
+            sb.append(HEX[(crc >>> shift) & 0xF]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns whether {@code line} ends with a checksum suffix.
+     */
+    public static boolean hasChecksum(String line) {
+        return line.length() >= SUFFIX_LENGTH
+                && line.startsWith(FIELD, line.length() - SUFFIX_LENGTH)
+                && parseHex(line, line.length() - 8) != -1;
+    }
+
+    /**
+     * Returns whether {@code line} carries a checksum that matches its record.
+     */
+    public static boolean isIntact(String line) {
+        return hasChecksum(line) && parseHex(line, line.length() - 8) == Integer.toUnsignedLong(compute(strip(line)));
+    }
+
+    /**
+     * Returns the record of a line that {@link #hasChecksum(String) has a checksum}.
+     */
+    public static String strip(String line) {
+        return line.substring(0, line.length() - SUFFIX_LENGTH);
+    }
+
+    /**
+     * Verifies a checksummed line in a byte buffer without decoding it.
+     *
+     * @param crc reusable checksum instance
+     * @param buf buffer holding the line
+     * @param start offset of the first byte of the record
+     * @param end offset just after the last hex digit of the suffix
+     * @return whether the stored checksum matches the record bytes
+     */
+    static boolean isIntact(CRC32C crc, ByteBuffer buf, int start, int end) {
+        long expected = parseHex(buf, end - 8);
+        crc.reset();
+        crc.update(buf.slice(start, end - SUFFIX_LENGTH - start));
+        return expected == crc.getValue();
+    }
+
+    /**
+     * Returns whether the bytes before {@code end} form a checksum suffix.
+     */
+    static boolean hasChecksum(ByteBuffer buf, int start, int end) {
+        if (end - start < SUFFIX_LENGTH) {
+            return false;
+        }
+        int field = end - SUFFIX_LENGTH;
+        for (int i = 0; i < FIELD.length(); i++) {
+            if (buf.get(field + i) != FIELD.charAt(i)) {
+                return false;
+            }
+        }
+        return parseHex(buf, end - 8) != -1;
+    }
+
+    private static int compute(String record) {
+        CRC32C crc = new CRC32C();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    private static long parseHex(String s, int pos) {
+        long value = 0;
+        for (int i = pos; i < pos + 8; i++) {
+            int digit = Character.digit(s.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+
+    private static long parseHex(ByteBuffer buf, int pos) {
+        long value = 0;
+        for (int i = pos; i < pos + 8; i++) {
+            int digit = Character.digit(buf.get(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+}
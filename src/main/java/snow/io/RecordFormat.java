@@ -0,0 +1,35 @@
+package snow.io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+
+/**
+ * A text format for exchanging tasks with other programs, one record at a time.
+ *
+ * <p>Every record has the fields of {@link #FIELDS}, in that order. Empty fields are {@code null}.
+ * A deadline keeps its due date in {@code date}; an event keeps its start in {@code date} and
+ * its end in {@code end}. Dates use the ISO format the save file uses.
+ */
+interface RecordFormat {
+    /** Names of the record fields, in order. */
+    String[] FIELDS = {"type", "done", "description", "date", "end", "place"};
+
+    /**
+     * Writes anything that must precede the records.
+     */
+    void writeHeader(BufferedWriter out) throws IOException;
+
+    /**
+     * Writes one record.
+     */
+    void write(BufferedWriter out, String[] record) throws IOException;
+
+    /**
+     * Reads the next record, skipping any header.
+     *
+     * @return the record, or {@code null} at the end of the input
+     * @throws IllegalArgumentException if the next record is malformed; reading may continue after it
+     */
+    String[] read(BufferedReader in) throws IOException;
+}
@@ -0,0 +1,163 @@
+package snow.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+
+import snow.exception.SnowFileException;
+import snow.model.PlaceRegistry;
+import snow.model.Task;
+import snow.model.TaskList;
+
+/**
+ * Splits tasks into one file per month with a {@link ShardedStore} in a directory next to
+ * the save file. Loading reads only the current and upcoming months;
+ * {@link #loadDate(TaskList, LocalDate)} and {@link #loadAll(TaskList)} fault in older months
+ * when a command needs them.
+ *
+ * <p>Until the first sharded save, an existing save file is loaded as text instead, so
+ * switching an existing list to sharded storage keeps its tasks.
+ *
+ * <p>Sharded files are not watched or merged. A list only partly loaded has no full copy
+ * of what it was loaded from to merge against, and the shards it did not load may already be
+ * gone. If another process has saved since this one loaded, saves and loads of more shards
+ * therefore fail with a {@link SnowFileException} instead, and nothing is written.
+ */
+public class ShardedStorage extends Storage {
+    private static final String SHARDS_SUFFIX = ".shards";
+
+    private final ShardedStore shards;
+
+    /**
+     * Creates a storage that keeps its shards next to the given file path.
+     *
+     * @param filePath path to the save file
+     */
+    public ShardedStorage(String filePath) {
+        super(filePath);
+        this.shards = new ShardedStore(filePath + SHARDS_SUFFIX);
+    }
+
+    /**
+     * Persists the addition of {@code task}, which has just been appended to {@code taskList}.
+     */
+    @Override
+    public void recordAdd(TaskList taskList, Task task) throws SnowFileException {
+        saveOrDefer(taskList);
+    }
+
+    /**
+     * Persists that the task at {@code index} of {@code taskList} has been marked as done.
+     */
+    @Override
+    public void recordMark(TaskList taskList, int index) throws SnowFileException {
+        saveOrDefer(taskList);
+    }
+
+    /**
+     * Persists that the task at {@code index} of {@code taskList} has been marked as not done.
+     */
+    @Override
+    public void recordUnmark(TaskList taskList, int index) throws SnowFileException {
+        saveOrDefer(taskList);
+    }
+
+    /**
+     * Persists that {@code removed}, previously at {@code index}, has been removed from {@code taskList}.
+     */
+    @Override
+    public void recordDelete(TaskList taskList, int index, Task removed) throws SnowFileException {
+        saveOrDefer(taskList);
+    }
+
+    /**
+     * Makes sure every task that may fall on {@code date} is in {@code taskList}.
+     */
+    @Override
+    public void loadDate(TaskList taskList, LocalDate date) throws SnowFileException {
+        if (shards.isComplete()) {
+            return;
+        }
+        try {
+            guard.lock();
+            try {
+                checkCurrent();
+                shards.loadDate(taskList, date);
+            } finally {
+                guard.unlock();
+            }
+        } catch (IOException e) {
+            throw SnowFileException.accessDenied(filePath + SHARDS_SUFFIX + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Makes sure every stored task is in {@code taskList}, as index-based commands require.
+     */
+    @Override
+    public void loadAll(TaskList taskList) throws SnowFileException {
+        if (shards.isComplete()) {
+            return;
+        }
+        try {
+            guard.lock();
+            try {
+                checkCurrent();
+                shards.loadAll(taskList);
+            } finally {
+                guard.unlock();
+            }
+        } catch (IOException e) {
+            throw SnowFileException.accessDenied(filePath + SHARDS_SUFFIX + " - " + e.getMessage());
+        }
+    }
+
+    @Override
+    void read(TaskList taskList, LoadReport report) throws IOException, SnowFileException {
+        File f = prepareFile();
+        if (!shards.exists()) {
+            readSaveFile(f, taskList, report);
+            return;
+        }
+        long start = System.nanoTime();
+        shards.open(taskList, LocalDate.now().withDayOfMonth(1));
+        report.addRecords(taskList.size(), PlaceRegistry.getPlaces().size(), 0, 0);
+        report.setReadNanos(System.nanoTime() - start);
+    }
+
+    /**
+     * Writes the loaded shards under the file lock, unless another process has committed
+     * shards since this one read them. A snapshot is never written, since shards that were
+     * not loaded may have to be read into the live list first.
+     */
+    @Override
+    boolean write(TaskList taskList, boolean shouldSync) throws IOException, SnowFileException {
+        if (taskList.isReadOnly()) {
+            return false;
+        }
+        guard.lock();
+        try {
+            checkCurrent();
+            shards.save(taskList, shouldSync);
+            journal.clear();
+        } finally {
+            guard.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Fails if another process has committed shards since this one read or wrote them.
+     * Call while holding the file lock.
+     */
+    private void checkCurrent() throws IOException, SnowFileException {
+        if (!shards.isCurrent()) {
+            throw SnowFileException.changedElsewhere(filePath + SHARDS_SUFFIX);
+        }
+    }
+
+    @Override
+    void syncSave() throws IOException {
+        shards.sync();
+    }
+}
@@ -0,0 +1,490 @@
+package snow.io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import snow.model.Deadline;
+import snow.model.Event;
+import snow.model.Place;
+import snow.model.PlaceRegistry;
+import snow.model.Task;
+import snow.model.TaskList;
+
+/**
+ * Stores tasks in one shard file per month, so only the months a query needs are read.
+ *
+ * <p>The shard directory sits next to the save file and holds:
+ * <ul>
+ *   <li>{@code manifest}: the committed generation, the next free ordinal and one line per
+ *       shard, {@code shard | 2024-01 | 120 | until=2024-02-03 | gen=7}, where {@code until}
+ *       is the latest date any task in the shard reaches and {@code gen} the generation
+ *       that last wrote it</li>
+ *   <li>{@code places.7}: every place as of generation 7, always loaded</li>
+ *   <li>{@code 2024-01.7.txt}, ...: deadlines due and events starting in that month,
+ *       and {@code undated.7.txt} for todos</li>
+ * </ul>
+ * Each task line is prefixed by its ordinal, the task's position in the full list,
+ * so loaded shards can be merged back into list order. All lines are sealed with a
+ * {@link RecordChecksum}.
+ *
+ * <p>A save writes its shards and places under a new generation, next to the files of the
+ * committed one, then replaces the manifest, which is the single atomic step that commits
+ * them. A save interrupted before that leaves files the manifest does not name; loads never
+ * read them and the next save deletes them, with the files its manifest replaced. Manifests
+ * written before generations were kept have none, and name files without one.
+ *
+ * <p>Another process sharing the directory may commit a generation of its own and delete the
+ * files of this one. Callers check {@link #isCurrent()} under a file lock before saving or
+ * reading more shards, so a save never replaces, or deletes the files of, a manifest it did
+ * not write.
+ *
+ * <p>A partially loaded list only ever grows by appending, because index-based
+ * commands call {@link #loadAll(TaskList)} first. New tasks therefore take ordinals
+ * after every stored one, and shards that were never loaded stay valid on disk.
+ */
+public class ShardedStore {
+    /** Name of the shard holding tasks without a date. */
+    public static final String UNDATED = "undated";
+
+    private static final String MANIFEST = "manifest";
+    private static final String PLACES = "places";
+    private static final String SHARD_SUFFIX = ".txt";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final String SEPARATOR = " | ";
+    private static final String GENERATION = "generation=";
+    private static final String NEXT = "next=";
+    private static final String UNTIL = "until=";
+    private static final String GEN = "gen=";
+
+    private final Path dir;
+    private final Map<String, ShardInfo> shards = new TreeMap<>();
+    private final Set<String> loadedShards = new HashSet<>();
+    private final Map<Task, Long> ordinals = new IdentityHashMap<>();
+    private long nextOrdinal;
+    private long generation;
+
+    /**
+     * Creates a store whose shards live in {@code dir}.
+     *
+     * @param dir the shard directory
+     */
+    public ShardedStore(String dir) {
+        this.dir = Paths.get(dir);
+    }
+
+    /**
+     * Returns whether the shard directory has a manifest.
+     */
+    public boolean exists() {
+        return Files.exists(dir.resolve(MANIFEST));
+    }
+
+    /**
+     * Returns whether the committed manifest is still the one this store last read or wrote.
+     * Every save commits a new generation, so comparing generations is enough.
+     */
+    public boolean isCurrent() throws IOException {
+        long committed = 0;
+        if (exists()) {
+            for (String line : readVerified(dir.resolve(MANIFEST))) {
+                if (line.startsWith(GENERATION)) {
+                    committed = Long.parseLong(line.substring(GENERATION.length()));
+                    break;
+                }
+            }
+        }
+        return committed == generation;
+    }
+
+    /**
+     * Reads the manifest and places, then loads the undated shard and every shard
+     * with tasks on or after {@code from} into the empty {@code taskList}.
+     * Older shards are left on disk until a query needs them.
+     *
+     * @param taskList an empty list to load into
+     * @param from the earliest date to load eagerly
+     */
+    public void open(TaskList taskList, LocalDate from) throws IOException {
+        shards.clear();
+        loadedShards.clear();
+        ordinals.clear();
+        nextOrdinal = 0;
+        generation = 0;
+        readManifest();
+        readPlaces();
+
+        List<String> eager = new ArrayList<>();
+        for (ShardInfo shard : shards.values()) {
+            if (shard.isUndated() || !shard.until.isBefore(from)) {
+                eager.add(shard.name);
+            }
+        }
+        loadShards(taskList, eager);
+    }
+
+    /**
+     * Loads every shard that may hold a task on {@code date}.
+     */
+    public void loadDate(TaskList taskList, LocalDate date) throws IOException {
+        String month = YearMonth.from(date).toString();
+        List<String> needed = new ArrayList<>();
+        for (ShardInfo shard : shards.values()) {
+            if (!shard.isUndated() && shard.name.compareTo(month) <= 0 && !shard.until.isBefore(date)) {
+                needed.add(shard.name);
+            }
+        }
+        loadShards(taskList, needed);
+    }
+
+    /**
+     * Loads every shard that is not loaded yet, completing {@code taskList}.
+     */
+    public void loadAll(TaskList taskList) throws IOException {
+        loadShards(taskList, new ArrayList<>(shards.keySet()));
+    }
+
+    /**
+     * Returns whether every stored shard is loaded.
+     */
+    public boolean isComplete() {
+        return loadedShards.containsAll(shards.keySet());
+    }
+
+    /**
+     * Returns the names of the loaded shards.
+     */
+    public Set<String> getLoadedShards() {
+        return loadedShards;
+    }
+
+    /**
+     * Returns the names of all stored shards.
+     */
+    public Set<String> getShardNames() {
+        return shards.keySet();
+    }
+
+    /**
+     * Writes {@code taskList} to the shards of a new generation and commits it by
+     * rewriting the manifest. Shards that were never loaded keep their files; a shard a
+     * new task falls into is loaded first so none of its stored tasks are lost.
+     *
+     * @param taskList the loaded tasks
+     * @param shouldSync whether to force each file to disk
+     */
+    public void save(TaskList taskList, boolean shouldSync) throws IOException {
+        Files.createDirectories(dir);
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < taskList.size(); i++) {
+            String name = shardOf(taskList.get(i));
+            if (shards.containsKey(name) && !loadedShards.contains(name) && !missing.contains(name)) {
+                missing.add(name);
+            }
+        }
+        loadShards(taskList, missing);
+
+        if (isComplete()) {
+            // Nothing is left on disk, so ordinals can be compacted to list positions
+            ordinals.clear();
+            nextOrdinal = 0;
+        }
+        Map<String, List<Task>> byShard = new TreeMap<>();
+        for (int i = 0; i < taskList.size(); i++) {
+            Task task = taskList.get(i);
+            ordinalOf(task);
+            byShard.computeIfAbsent(shardOf(task), k -> new ArrayList<>()).add(task);
+        }
+
+        long next = generation + 1;
+        Map<String, ShardInfo> saved = new TreeMap<>(shards);
+        saved.keySet().removeIf(name -> loadedShards.contains(name) && !byShard.containsKey(name));
+        for (Map.Entry<String, List<Task>> entry : byShard.entrySet()) {
+            saved.put(entry.getKey(), writeShard(entry.getKey(), entry.getValue(), next, shouldSync));
+        }
+        writeLines(placesPath(next), placeLines(), shouldSync);
+        writeLines(dir.resolve(MANIFEST), manifestLines(next, saved), shouldSync);
+
+        generation = next;
+        shards.clear();
+        shards.putAll(saved);
+        loadedShards.clear();
+        loadedShards.addAll(byShard.keySet());
+        deleteUnreferenced();
+    }
+
+    /**
+     * Forces the manifest, places and every loaded shard to disk.
+     */
+    public void sync() throws IOException {
+        AtomicFile.sync(dir.resolve(MANIFEST));
+        AtomicFile.sync(placesPath(generation));
+        for (String name : loadedShards) {
+            AtomicFile.sync(shardPath(shards.get(name)));
+        }
+    }
+
+    /**
+     * Returns the shard a task is stored in.
+     */
+    static String shardOf(Task task) {
+        if (task instanceof Deadline deadline) {
+            return YearMonth.from(deadline.getDate()).toString();
+        }
+        if (task instanceof Event event) {
+            return YearMonth.from(event.getFromDate()).toString();
+        }
+        return UNDATED;
+    }
+
+    private long ordinalOf(Task task) {
+        Long ordinal = ordinals.get(task);
+        if (ordinal == null) {
+            ordinal = nextOrdinal++;
+            ordinals.put(task, ordinal);
+        }
+        return ordinal;
+    }
+
+    /**
+     * Reads the named shards and merges their tasks into {@code taskList} by ordinal.
+     */
+    private void loadShards(TaskList taskList, List<String> names) throws IOException {
+        List<Task> loaded = new ArrayList<>();
+        for (String name : names) {
+            if (loadedShards.add(name)) {
+                readShard(name, loaded);
+            }
+        }
+        if (loaded.isEmpty()) {
+            return;
+        }
+
+        // Tasks appended since the last save sort after every stored ordinal
+        List<Task> merged = new ArrayList<>(taskList.size() + loaded.size());
+        for (int i = 0; i < taskList.size(); i++) {
+            Task task = taskList.get(i);
+            ordinalOf(task);
+            merged.add(task);
+        }
+        merged.addAll(loaded);
+        merged.sort(Comparator.comparingLong(ordinals::get));
+        taskList.clear();
+        for (Task task : merged) {
+            taskList.add(task);
+        }
+    }
+
+    private void readShard(String name, List<Task> into) throws IOException {
+        ShardInfo shard = shards.get(name);
+        if (shard == null) {
+            return;
+        }
+        Path path = shardPath(shard);
+        if (!Files.exists(path)) {
+            return;
+        }
+        int lineNumber = 0;
+        for (String line : readVerified(path)) {
+            lineNumber++;
+            String[] parts = line.split(" \\| ", 2);
+            Task task = null;
+            if (parts.length == 2) {
+                try {
+                    long ordinal = Long.parseLong(parts[0]);
+                    task = Parser.parseLine(parts[1]);
+                    if (task != null) {
+                        ordinals.put(task, ordinal);
+                        nextOrdinal = Math.max(nextOrdinal, ordinal + 1);
+                    }
+                } catch (NumberFormatException e) {
+                    task = null;
+                }
+            }
+            if (task == null) {
+                System.out.println("Warning: Failed to parse line " + lineNumber + " of shard " + name + ": " + line);
+                continue;
+            }
+            into.add(task);
+        }
+    }
+
+    private void readManifest() throws IOException {
+        for (String line : readVerified(dir.resolve(MANIFEST))) {
+            if (line.startsWith(GENERATION)) {
+                generation = Long.parseLong(line.substring(GENERATION.length()));
+                continue;
+            }
+            if (line.startsWith(NEXT)) {
+                nextOrdinal = Long.parseLong(line.substring(NEXT.length()));
+                continue;
+            }
+            String[] parts = line.split(" \\| ");
+            boolean hasGeneration = parts.length == 5 && parts[4].startsWith(GEN);
+            if ((parts.length == 4 || hasGeneration) && "shard".equals(parts[0]) && parts[3].startsWith(UNTIL)) {
+                String until = parts[3].substring(UNTIL.length());
+                shards.put(parts[1], new ShardInfo(parts[1], Integer.parseInt(parts[2]),
+                        until.isEmpty() ? null : LocalDate.parse(until),
+                        hasGeneration ? Long.parseLong(parts[4].substring(GEN.length())) : 0));
+            }
+        }
+    }
+
+    private void readPlaces() throws IOException {
+        PlaceRegistry.clearPlaces();
+        Path path = placesPath(generation);
+        if (!Files.exists(path)) {
+            return;
+        }
+        for (String line : readVerified(path)) {
+            Place place = Parser.parsePlaceFromStorage(line);
+            if (place != null) {
+                PlaceRegistry.addPlace(place);
+            }
+        }
+    }
+
+    /**
+     * Reads the non-blank lines of a file, dropping any whose checksum does not match.
+     */
+    private static List<String> readVerified(Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(path.toFile(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (RecordChecksum.hasChecksum(line)) {
+                    if (!RecordChecksum.isIntact(line)) {
+                        System.out.println("Warning: Checksum mismatch in " + path.getFileName() + ": " + line);
+                        continue;
+                    }
+                    line = RecordChecksum.strip(line);
+                }
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private ShardInfo writeShard(String name, List<Task> tasks, long gen, boolean shouldSync) throws IOException {
+        List<String> lines = new ArrayList<>(tasks.size());
+        LocalDate until = null;
+        for (Task task : tasks) {
+            lines.add(ordinals.get(task) + SEPARATOR + task.toSaveString());
+            LocalDate last = task.getLastDate();
+            if (last != null && (until == null || last.isAfter(until))) {
+                until = last;
+            }
+        }
+        ShardInfo shard = new ShardInfo(name, tasks.size(), until, gen);
+        writeLines(shardPath(shard), lines, shouldSync);
+        return shard;
+    }
+
+    private List<String> placeLines() {
+        List<String> lines = new ArrayList<>();
+        for (Place place : PlaceRegistry.getPlaces()) {
+            lines.add(place.toSaveString());
+        }
+        return lines;
+    }
+
+    private List<String> manifestLines(long gen, Map<String, ShardInfo> saved) {
+        List<String> lines = new ArrayList<>();
+        lines.add(GENERATION + gen);
+        lines.add(NEXT + nextOrdinal);
+        for (ShardInfo shard : saved.values()) {
+            lines.add("shard" + SEPARATOR + shard.name + SEPARATOR + shard.taskCount + SEPARATOR
+                    + UNTIL + (shard.until == null ? "" : shard.until) + SEPARATOR + GEN + shard.generation);
+        }
+        return lines;
+    }
+
+    /**
+     * Deletes the shard and place files the committed manifest does not name: those it
+     * replaced, and those of a save that never committed.
+     */
+    private void deleteUnreferenced() throws IOException {
+        Set<Path> referenced = new HashSet<>();
+        referenced.add(placesPath(generation));
+        for (ShardInfo shard : shards.values()) {
+            referenced.add(shardPath(shard));
+        }
+        List<Path> unreferenced = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                boolean isStoreFile = name.endsWith(SHARD_SUFFIX) || name.equals(PLACES)
+                        || (name.startsWith(PLACES + ".") && !name.endsWith(TMP_SUFFIX));
+                if (isStoreFile && !referenced.contains(file)) {
+                    unreferenced.add(file);
+                }
+            }
+        }
+        for (Path file : unreferenced) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void writeLines(Path path, List<String> lines, boolean shouldSync) throws IOException {
+        AtomicFile.write(path, out -> {
+            BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (String line : lines) {
+                bw.write(RecordChecksum.seal(line));
+                bw.newLine();
+            }
+            bw.flush();
+        }, shouldSync);
+    }
+
+    private Path shardPath(ShardInfo shard) {
+        return dir.resolve(shard.generation == 0
+                ? shard.name + SHARD_SUFFIX
+                : shard.name + "." + shard.generation + SHARD_SUFFIX);
+    }
+
+    private Path placesPath(long gen) {
+        return dir.resolve(gen == 0 ? PLACES : PLACES + "." + gen);
+    }
+
+    /**
+     * Manifest entry for one shard.
+     */
+    private static final class ShardInfo {
+        private final String name;
+        private final int taskCount;
+        private final LocalDate until;
+        private final long generation;
+
+        ShardInfo(String name, int taskCount, LocalDate until, long generation) {
+            this.name = name;
+            this.taskCount = taskCount;
+            this.until = until;
+            this.generation = generation;
+        }
+
+        boolean isUndated() {
+            return until == null;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package snow.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import snow.exception.SnowFileException;
+import snow.model.Place;
+import snow.model.PlaceRegistry;
+import snow.model.Task;
+import snow.model.TaskList;
+
+/**
+ * Keeps every task in one save file, with a {@link Journal} next to it that is replayed
+ * on top of the file by {@link #load(TaskList)}. Subclasses choose how the file is encoded.
+ *
+ * <p>Several processes may share the same files. A write that finds the files changed since
+ * this process last read or wrote them first merges the other process's changes into the
+ * list with {@link TaskMerge}, so neither side's update is lost.
+ * {@link #watch(TaskList, Runnable)} applies such changes as soon as they are made, diffing the
+ * stored lines against the list so only new lines are parsed.
+ */
+public abstract class SingleFileStorage extends Storage {
+    private List<String> baseLines;
+    private FileWatcher watcher;
+
+    /**
+     * Creates a storage that reads/writes at the given file path.
+     *
+     * @param filePath path to the save file
+     */
+    SingleFileStorage(String filePath) {
+        super(filePath);
+    }
+
+    /**
+     * Applies changes that other processes make to the save file and journal to {@code taskList}
+     * as they happen, then runs {@code onReload}. Changes are applied while holding the monitor
+     * of {@code taskList}, which callers should also hold while running commands.
+     *
+     * @param taskList the list loaded from this storage
+     * @param onReload run after external changes have been applied
+     */
+    @Override
+    public void watch(TaskList taskList, Runnable onReload) throws SnowFileException {
+        if (watcher != null) {
+            return;
+        }
+        try {
+            watcher = new FileWatcher(() -> {
+                try {
+                    boolean isChanged;
+                    synchronized (taskList) {
+                        isChanged = reloadChanges(taskList);
+                    }
+                    if (isChanged) {
+                        onReload.run();
+                    }
+                } catch (SnowFileException e) {
+                    System.out.println("Warning: " + e.getMessage());
+                }
+            }, Paths.get(filePath), Paths.get(filePath + JOURNAL_SUFFIX));
+        } catch (IOException e) {
+            throw SnowFileException.accessDenied(filePath + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Applies to {@code taskList} what other processes have saved since this storage last read
+     * or wrote the files. Existing tasks are kept and only new lines are parsed. Changes that
+     * write-behind has not saved yet are kept too, and saved with the next write.
+     *
+     * @return whether {@code taskList} changed
+     */
+    public boolean reloadChanges(TaskList taskList) throws SnowFileException {
+        try {
+            guard.lock();
+            try {
+                if (!guard.isStale()) {
+                    return false;
+                }
+                StoredLines current = readCurrentLines();
+                List<String> theirs = registerPlaces(current.getPlaces(), current.getTasks());
+                boolean isChanged = baseLines.equals(taskLines(taskList))
+                        ? TaskMerge.adopt(theirs, taskList)
+                        : TaskMerge.merge(baseLines, theirs, taskList);
+                journal.advanceTo(current.getLastSequence());
+                guard.refresh();
+                baseLines = new ArrayList<>(theirs);
+                return isChanged;
+            } finally {
+                guard.unlock();
+            }
+        } catch (IOException e) {
+            throw SnowFileException.accessDenied(filePath + " - " + e.getMessage());
+        }
+    }
+
+    @Override
+    void closeFiles() {
+        try {
+            if (watcher != null) {
+                watcher.close();
+            }
+        } catch (IOException e) {
+            System.out.println("Warning: " + e.getMessage());
+        }
+    }
+
+    @Override
+    void syncSave() throws IOException {
+        AtomicFile.sync(new File(filePath).toPath());
+    }
+
+    /**
+     * Persists the addition of {@code task}, which has just been appended to {@code taskList}.
+     */
+    @Override
+    public void recordAdd(TaskList taskList, Task task) throws SnowFileException {
+        saveOrDefer(taskList);
+    }
+
+    /**
+     * Persists that the task at {@code index} of {@code taskList} has been marked as done.
+     */
+    @Override
+    public void recordMark(TaskList taskList, int index) throws SnowFileException {
+        saveOrDefer(taskList);
+    }
+
+    /**
+     * Persists that the task at {@code index} of {@code taskList} has been marked as not done.
+     */
+    @Override
+    public void recordUnmark(TaskList taskList, int index) throws SnowFileException {
+        saveOrDefer(taskList);
+    }
+
+    /**
+     * Persists that {@code removed}, previously at {@code index}, has been removed from {@code taskList}.
+     */
+    @Override
+    public void recordDelete(TaskList taskList, int index, Task removed) throws SnowFileException {
+        saveOrDefer(taskList);
+    }
+
+    /**
+     * Writes the save file under the file lock, first merging in what other processes have
+     * saved. A snapshot is instead written to a temporary file without holding the lock.
+     */
+    @Override
+    boolean write(TaskList taskList, boolean shouldSync) throws IOException, SnowFileException {
+        Path path = Paths.get(filePath);
+        if (taskList.isReadOnly()) {
+            return writeSnapshot(taskList, path, shouldSync);
+        }
+        guard.lock();
+        try {
+            if (guard.isStale()) {
+                mergeChangesElsewhere(taskList);
+            }
+            List<String> lines = taskLines(taskList);
+            AtomicFile.write(path, out -> writeTo(out, taskList, lines), shouldSync);
+            journal.clear();
+            remember(lines);
+        } finally {
+            guard.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Writes a read-only snapshot to a temporary file, then swaps it in under the file lock
+     * unless another process has changed the files meanwhile.
+     *
+     * @return whether the snapshot was written
+     */
+    private boolean writeSnapshot(TaskList snapshot, Path path, boolean shouldSync) throws IOException {
+        List<String> lines = taskLines(snapshot);
+        Path tmp = AtomicFile.prepare(path, out -> writeTo(out, snapshot, lines), shouldSync);
+        try {
+            guard.lock();
+            try {
+                if (guard.isStale()) {
+                    return false;
+                }
+                AtomicFile.commit(tmp, path, shouldSync);
+                remember(lines);
+                return true;
+            } finally {
+                guard.unlock();
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Writes the full contents of the save file.
+     *
+     * @param taskList the tasks to write
+     * @param taskLines the save lines of those tasks
+     */
+    abstract void writeTo(OutputStream out, TaskList taskList, List<String> taskLines) throws IOException;
+
+    @Override
+    void read(TaskList taskList, LoadReport report) throws IOException, SnowFileException {
+        readSaveFile(prepareFile(), taskList, report);
+        remember(taskLines(taskList));
+    }
+
+    /**
+     * Records in the lines last read or written that {@code task} has been appended.
+     */
+    void rememberAdded(Task task) {
+        if (baseLines != null) {
+            baseLines.add(task.toSaveString());
+        }
+    }
+
+    /**
+     * Records in the lines last read or written that the task at {@code index} has changed.
+     */
+    void rememberLine(TaskList taskList, int index) {
+        if (baseLines != null) {
+            baseLines.set(index, taskList.toSaveString(index));
+        }
+    }
+
+    /**
+     * Records in the lines last read or written that the task at {@code index} has been removed.
+     */
+    void rememberRemoved(int index) {
+        if (baseLines != null) {
+            baseLines.remove(index);
+        }
+    }
+
+    static List<String> taskLines(TaskList taskList) {
+        List<String> lines = new ArrayList<>(taskList.size());
+        for (int i = 0; i < taskList.size(); i++) {
+            lines.add(taskList.toSaveString(i));
+        }
+        return lines;
+    }
+
+    /**
+     * Records the files as just read or written by this process, holding {@code taskLines}.
+     * Call while holding the file lock.
+     */
+    private void remember(List<String> taskLines) throws IOException {
+        guard.refresh();
+        baseLines = taskLines;
+    }
+
+    /**
+     * Merges into {@code taskList} what another process has saved since this one last read
+     * or wrote the files. Call while holding the file lock.
+     */
+    private void mergeChangesElsewhere(TaskList taskList) throws IOException, SnowFileException {
+        StoredLines current = readCurrentLines();
+        TaskMerge.merge(baseLines, registerPlaces(current.getPlaces(), current.getTasks()), taskList);
+        journal.advanceTo(current.getLastSequence());
+    }
+
+    /**
+     * Reads the place and task lines currently in the files, without parsing text files.
+     * The places this process knows are left as they are.
+     */
+    StoredLines readCurrentLines() throws IOException, SnowFileException {
+        return StoredLines.read(new File(filePath));
+    }
+
+    /**
+     * Registers the places in {@code placeLines}, saved by another process, that are not known
+     * yet, and returns {@code taskLines} with their place ids changed to the ids this process
+     * knows the places by.
+     *
+     * <p>Two processes that each create a place may give both the same id. Such a place of
+     * theirs is matched to ours by name if we have one, or else registered under a new id, so
+     * their tasks never end up at our place.
+     */
+    private static List<String> registerPlaces(List<String> placeLines, List<String> taskLines) {
+        Map<Integer, Integer> renumbered = new HashMap<>();
+        for (String line : placeLines) {
+            Place place = Parser.parsePlaceFromStorage(line);
+            if (place == null) {
+                continue;
+            }
+            Place sameId = PlaceRegistry.findById(place.getId());
+            if (sameId != null && sameId.getName().equalsIgnoreCase(place.getName())) {
+                continue;
+            }
+            Place sameName = PlaceRegistry.findByName(place.getName());
+            if (sameName == null && sameId == null) {
+                PlaceRegistry.addPlace(place);
+                continue;
+            }
+            Place ours = sameName != null ? sameName : PlaceRegistry.getPlace(place.getName());
+            renumbered.put(place.getId(), ours.getId());
+        }
+        if (renumbered.isEmpty()) {
+            return taskLines;
+        }
+        List<String> lines = new ArrayList<>(taskLines.size());
+        for (String line : taskLines) {
+            Integer id = renumbered.get(Parser.parsePlaceId(line));
+            lines.add(id == null ? line : withPlaceId(line, id));
+        }
+        return lines;
+    }
+
+    /** Returns the task line {@code line} with its {@code pid=} field set to {@code id}. */
+    private static String withPlaceId(String line, int id) {
+        String[] parts = line.split(" \\| ", -1);
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i].startsWith("pid=")) {
+                parts[i] = "pid=" + id;
+                break;
+            }
+        }
+        return String.join(" | ", parts);
+    }
+}
@@ -1,137 +1,504 @@
 package snow.io;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Scanner;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import snow.exception.SnowFileException;
-import snow.model.Place;
 import snow.model.PlaceRegistry;
 import snow.model.Task;
 import snow.model.TaskList;
 
 /**
- * Handles persistence of tasks to/from a file path.
- * Saves a {@link TaskList} in a simple line-based format and loads it back.
+ * Handles persistence of tasks to/from a file path, in one of the {@link StorageFormat}s.
+ * Each format is a subclass: {@link TextStorage}, {@link JournaledStorage},
+ * {@link BinaryStorage} and {@link ShardedStorage}. This class holds what they share.
+ *
+ * <p>With write-behind enabled, mutations that would rewrite the whole file are
+ * instead coalesced by a {@link WriteBehindSaver} into one delayed save.
+ *
+ * <p>Full saves always replace the file atomically; the {@link Durability} level
+ * chooses when the data is forced to disk.
+ *
+ * <p>Completed tasks can be moved out of the list into a compressed {@link TaskArchive},
+ * which stays searchable but is no longer loaded or rewritten with the list.
+ *
+ * <p>Writes and loads hold a {@link FileGuard} lock, so several processes may share the files.
+ * Every text record is sealed with a {@link RecordChecksum}, and {@link #load(TaskList)}
+ * quarantines records that fail it instead of silently dropping them.
  */
-public class Storage {
-    private final String filePath;
+public abstract class Storage implements StorageBackend {
+    static final String JOURNAL_SUFFIX = ".journal";
+    private static final String ARCHIVE_SUFFIX = ".archive.gz";
+    private static final String LOCK_SUFFIX = ".lock";
+
+    final String filePath;
+    final Journal journal;
+    final FileGuard guard;
+    private final TaskArchive archive;
+    private WriteBehindSaver saver;
+    private Thread flushOnExit;
+    private Durability durability = Durability.NONE;
+    private boolean hasUnsyncedSave;
+    private int replayedRecords;
 
     /**
      * Creates a Storage that reads/writes at the given file path.
      *
      * @param filePath path to the save file
      */
-    public Storage(String filePath) {
+    Storage(String filePath) {
         this.filePath = filePath;
+        this.journal = new Journal(filePath + JOURNAL_SUFFIX);
+        this.guard = new FileGuard(Paths.get(filePath + LOCK_SUFFIX),
+                Paths.get(filePath), Paths.get(filePath + JOURNAL_SUFFIX));
+        this.archive = new TaskArchive(filePath + ARCHIVE_SUFFIX);
     }
 
-    /** Saves all tasks from {@code taskList} into the file. */
-    public void save(TaskList taskList) throws SnowFileException {
-        try {
-            File f = new File(filePath);
+    /**
+     * Creates a Storage that reads/writes at the given file path in the given format.
+     *
+     * @param filePath path to the save file
+     * @param format the on-disk format to use
+     */
+    public static Storage forFormat(String filePath, StorageFormat format) {
+        switch (format) {
+        case TEXT:
+            return new TextStorage(filePath);
+        case JOURNALED_TEXT:
+            return new JournaledStorage(filePath);
+        case BINARY:
+            return new BinaryStorage(filePath);
+        case SHARDED:
+            return new ShardedStorage(filePath);
+        default:
+            throw new IllegalArgumentException("unknown storage format: " + format);
+        }
+    }
 
-            // Validate file path
-            if (filePath == null || filePath.trim().isEmpty()) {
-                throw SnowFileException.accessDenied("null or empty path");
+    /**
+     * Defers full saves to a background thread that coalesces them, writing at most
+     * once per {@code delayMillis}. Pending changes are flushed on JVM shutdown.
+     * Formats that journal single changes hand them to write-behind as well.
+     *
+     * @param delayMillis how long to wait after the first unsaved mutation before saving
+     */
+    @Override
+    public void enableWriteBehind(long delayMillis) {
+        if (saver != null) {
+            return;
+        }
+        saver = new WriteBehindSaver(this, delayMillis);
+        flushOnExit = new Thread(() -> {
+            try {
+                flush();
+            } catch (SnowFileException e) {
+                System.out.println("Warning: " + e.getMessage());
             }
+        }, "snow-final-flush");
+        Runtime.getRuntime().addShutdownHook(flushOnExit);
+    }
 
-            // ensure folder exists
-            File parent = f.getParentFile();
-            if (parent != null && !parent.exists()) {
-                if (!parent.mkdirs()) {
-                    throw SnowFileException.directoryCreationFailed(parent.getAbsolutePath());
+    /**
+     * Writes out held-back changes, then stops the background threads and releases the
+     * files this storage keeps open. The storage should not be used afterwards.
+     */
+    @Override
+    public void close() throws SnowFileException {
+        try {
+            flush();
+        } finally {
+            if (saver != null) {
+                saver.close();
+                try {
+                    Runtime.getRuntime().removeShutdownHook(flushOnExit);
+                } catch (IllegalStateException e) {
+                    // Already shutting down; the hook flushes again, which finds nothing to write
                 }
             }
+            closeFiles();
+        }
+    }
+
+    /**
+     * Stops the background work of this format and releases the files it keeps open.
+     */
+    void closeFiles() {
+        // Nothing kept open by default
+    }
+
+    /**
+     * Sets when saves and journal appends are forced to disk.
+     *
+     * @param durability the durability level to use from now on
+     */
+    @Override
+    public void setDurability(Durability durability) {
+        this.durability = durability;
+        journal.setSyncOnAppend(durability == Durability.ALWAYS);
+    }
+
+    /** Returns when saves and journal appends are forced to disk. */
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Writes out any changes still held back by write-behind and, unless the
+     * durability is {@link Durability#NONE}, forces everything written so far to disk.
+     */
+    @Override
+    public void flush() throws SnowFileException {
+        if (saver != null) {
+            saver.flush();
+        }
+        if (durability == Durability.NONE) {
+            return;
+        }
+        try {
+            if (hasUnsyncedSave) {
+                syncSave();
+                hasUnsyncedSave = false;
+            }
+            journal.sync();
+        } catch (IOException e) {
+            throw SnowFileException.accessDenied(filePath + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Forces the files written by the last full save to disk.
+     */
+    abstract void syncSave() throws IOException;
+
+    /**
+     * Saves all tasks from {@code taskList} into the file.
+     * Any journaled records are folded into the file and the journal is cleared.
+     * The file is replaced atomically, and forced to disk if the durability is {@link Durability#ALWAYS}.
+     */
+    @Override
+    public void save(TaskList taskList) throws SnowFileException {
+        writeFile(taskList, durability == Durability.ALWAYS);
+    }
+
+    /**
+     * Saves {@code taskList} as the end of a batch of changes, forcing it to disk
+     * unless the durability is {@link Durability#NONE}.
+     *
+     * <p>{@code taskList} may be a {@link TaskList#snapshot()}, which is written without
+     * holding up commands on the live list. A snapshot cannot take in changes made by another
+     * process, so if there are any, or the format cannot write snapshots, nothing is written.
+     *
+     * @return false if {@code taskList} is a snapshot that was not written; save the live list instead
+     */
+    boolean saveBatch(TaskList taskList) throws SnowFileException {
+        return writeFile(taskList, durability != Durability.NONE);
+    }
+
+    private boolean writeFile(TaskList taskList, boolean shouldSync) throws SnowFileException {
+        try {
+            File f = prepareFile();
 
             // Check if parent directory is writable
+            File parent = f.getParentFile();
             if (parent != null && !parent.canWrite()) {
                 throw SnowFileException.accessDenied(parent.getAbsolutePath());
             }
 
-            try (BufferedWriter bw = new BufferedWriter(new FileWriter(f))) {
-                // Save places first
-                for (Place place : PlaceRegistry.getPlaces()) {
-                    bw.write(place.toSaveString());
-                    bw.newLine();
-                }
-
-                // Then save tasks
-                for (int i = 0; i < taskList.size(); i++) {
-                    bw.write(taskList.get(i).toSaveString());
-                    bw.newLine();
-                }
+            boolean isWritten = write(taskList, shouldSync);
+            if (isWritten) {
+                hasUnsyncedSave = !shouldSync;
             }
+            return isWritten;
         } catch (IOException e) {
             throw SnowFileException.accessDenied(filePath + " - " + e.getMessage());
         }
     }
 
-    /** Loads tasks from the file into the given {@code taskList}. */
-    public void load(TaskList taskList) throws SnowFileException {
-        try {
-            File f = new File(filePath);
+    /**
+     * Writes {@code taskList} in this format, replacing what is stored, and clears the journal.
+     * A read-only {@link TaskList#snapshot()} may be refused.
+     *
+     * @param shouldSync whether to force the written files to disk
+     * @return false if {@code taskList} is a snapshot that was not written
+     */
+    abstract boolean write(TaskList taskList, boolean shouldSync) throws IOException, SnowFileException;
 
-            // Validate file path
-            if (filePath == null || filePath.trim().isEmpty()) {
-                throw SnowFileException.accessDenied("null or empty path");
+    /**
+     * Loads tasks from the file into the given {@code taskList},
+     * then replays any journaled records on top of them.
+     * Records that fail their checksum or cannot be parsed are skipped and appended
+     * to a quarantine file next to the save file.
+     *
+     * @return counts and timings for this load
+     */
+    @Override
+    public LoadReport load(TaskList taskList) throws SnowFileException {
+        LoadReport report = new LoadReport();
+        try {
+            guard.lock();
+            try {
+                read(taskList, report);
+            } finally {
+                guard.unlock();
             }
+        } catch (IOException e) {
+            throw SnowFileException.accessDenied(filePath + " - " + e.getMessage());
+        }
+        return report;
+    }
 
-            // ensure folder exists
-            File parent = f.getParentFile();
-            if (parent != null && !parent.exists()) {
-                if (!parent.mkdirs()) {
-                    throw SnowFileException.directoryCreationFailed(parent.getAbsolutePath());
-                }
-            }
+    /**
+     * Reads the stored tasks into {@code taskList}. Called while holding the file lock.
+     */
+    abstract void read(TaskList taskList, LoadReport report) throws IOException, SnowFileException;
 
-            if (!f.exists()) {
-                // create empty file so future saves don't fail
-                if (!f.createNewFile()) {
-                    throw SnowFileException.accessDenied(f.getAbsolutePath());
-                }
-                return; // nothing to load yet
+    /**
+     * Validates the file path and creates the folder the save file goes in.
+     *
+     * @return the save file
+     */
+    File prepareFile() throws SnowFileException {
+        File f = new File(filePath);
+
+        // Validate file path
+        if (filePath == null || filePath.trim().isEmpty()) {
+            throw SnowFileException.accessDenied("null or empty path");
+        }
+
+        // ensure folder exists
+        File parent = f.getParentFile();
+        if (parent != null && !parent.exists()) {
+            if (!parent.mkdirs()) {
+                throw SnowFileException.directoryCreationFailed(parent.getAbsolutePath());
             }
+        }
+        return f;
+    }
 
-            // Check if file is readable
-            if (!f.canRead()) {
+    /**
+     * Loads the save file {@code f} into {@code taskList}, creating it if it does not exist,
+     * then replays the journal on top of it.
+     */
+    void readSaveFile(File f, TaskList taskList, LoadReport report) throws IOException, SnowFileException {
+        if (!f.exists()) {
+            // create empty file so future saves don't fail
+            if (!f.createNewFile()) {
                 throw SnowFileException.accessDenied(f.getAbsolutePath());
             }
+            replayJournal(taskList, 0, report);
+            return; // nothing else to load yet
+        }
 
-            // Clear existing places before loading
-            PlaceRegistry.clearPlaces();
-
-            try (Scanner sc = new Scanner(f)) {
-                int lineNumber = 0;
-                while (sc.hasNextLine()) {
-                    lineNumber++;
-                    String line = sc.nextLine().trim();
-
-                    // Skip empty lines
-                    if (line.isEmpty()) {
-                        continue;
-                    }
-
-                    // Try to parse as place first
-                    Place place = Parser.parsePlaceFromStorage(line);
-                    if (place != null) {
-                        PlaceRegistry.addPlace(place);
-                        continue;
-                    }
-
-                    // Otherwise parse as task
-                    Task task = Parser.parseLine(line);
-                    if (task != null) {
-                        taskList.add(task);
-                    } else {
-                        System.out.println("Warning: Failed to parse line " + lineNumber + ": " + line);
-                    }
-                }
+        // Check if file is readable
+        if (!f.canRead()) {
+            throw SnowFileException.accessDenied(f.getAbsolutePath());
+        }
+
+        // Clear existing places before loading
+        PlaceRegistry.clearPlaces();
+
+        long start = System.nanoTime();
+        long baseSequence = readBase(f, taskList, report);
+        report.setReadNanos(System.nanoTime() - start);
+        replayJournal(taskList, baseSequence, report);
+    }
+
+    /**
+     * Reads the tasks in the existing save file {@code f} as text lines, quarantining those
+     * that cannot be read.
+     *
+     * @return the last journal sequence the file folds in
+     */
+    long readBase(File f, TaskList taskList, LoadReport report) throws IOException, SnowFileException {
+        MappedTaskReader reader = new MappedTaskReader();
+        long baseSequence = reader.read(f, taskList, report);
+        if (!reader.getSkippedLines().isEmpty()) {
+            quarantine(reader.getSkippedLines());
+            report.setQuarantinePath(getQuarantinePath());
+        }
+        return baseSequence;
+    }
+
+    private void replayJournal(TaskList taskList, long baseSequence, LoadReport report) throws SnowFileException {
+        long start = System.nanoTime();
+        replayedRecords = journal.replay(taskList, baseSequence);
+        report.setReplayNanos(System.nanoTime() - start);
+        report.setReplayed(replayedRecords, journal.getCorruptRecords());
+    }
+
+    /** Returns the number of journal records replayed by the last {@link #load(TaskList)}. */
+    public int getReplayedRecords() {
+        return replayedRecords;
+    }
+
+    /**
+     * Every task is loaded by {@link #load(TaskList)} unless the format loads lazily.
+     */
+    @Override
+    public void loadDate(TaskList taskList, LocalDate date) throws SnowFileException {
+        // Already loaded
+    }
+
+    /**
+     * Every task is loaded by {@link #load(TaskList)} unless the format loads lazily.
+     */
+    @Override
+    public void loadAll(TaskList taskList) throws SnowFileException {
+        // Already loaded
+    }
+
+    /** Returns whether saves are handed to a background thread by write-behind. */
+    boolean isWriteBehind() {
+        return saver != null;
+    }
+
+    /**
+     * Saves {@code taskList} now, or hands it to write-behind if that is enabled.
+     */
+    void saveOrDefer(TaskList taskList) throws SnowFileException {
+        if (saver != null) {
+            saver.markDirty(taskList);
+        } else {
+            save(taskList);
+        }
+    }
+
+    /**
+     * Moves completed tasks that ended before {@code cutoff} from {@code taskList} into the
+     * archive, then saves the smaller list. Completed todos have no date and are always moved.
+     * Tasks are archived before the list is saved, so a crash in between can only leave a
+     * task in both places, never in neither.
+     *
+     * @return the number of tasks archived
+     */
+    @Override
+    public int archive(TaskList taskList, LocalDate cutoff) throws SnowFileException {
+        loadAll(taskList);
+        List<Task> kept = new ArrayList<>();
+        List<Task> archived = new ArrayList<>();
+        for (int i = 0; i < taskList.size(); i++) {
+            Task task = taskList.get(i);
+            LocalDate last = task.getLastDate();
+            if (task.isDone() && (last == null || last.isBefore(cutoff))) {
+                archived.add(task);
+            } else {
+                kept.add(task);
+            }
+        }
+        if (archived.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            archive.append(archived);
+            if (durability != Durability.NONE) {
+                AtomicFile.sync(new File(filePath + ARCHIVE_SUFFIX).toPath());
             }
         } catch (IOException e) {
-            throw SnowFileException.accessDenied(filePath + " - " + e.getMessage());
+            throw SnowFileException.accessDenied(filePath + ARCHIVE_SUFFIX + " - " + e.getMessage());
+        }
+        taskList.clear();
+        for (Task task : kept) {
+            taskList.add(task);
+        }
+        save(taskList);
+        return archived.size();
+    }
+
+    /**
+     * Appends the tasks in a CSV or JSON Lines file to {@code taskList} and saves them with
+     * one write, however many there are. The reported time includes the save.
+     *
+     * @param path the file to import
+     * @return counts and throughput for the import
+     */
+    @Override
+    public TransferReport importTasks(TaskList taskList, String path) throws SnowFileException {
+        loadAll(taskList);
+        TransferReport report;
+        try {
+            report = TaskTransfer.importFrom(Paths.get(path), taskList);
+        } catch (IOException | IllegalArgumentException e) {
+            throw SnowFileException.accessDenied(path + " - " + e.getMessage());
+        }
+        long start = System.nanoTime();
+        if (report.getRecordCount() > 0) {
+            save(taskList);
+        }
+        return report.plus(System.nanoTime() - start);
+    }
+
+    /**
+     * Writes every task in {@code taskList} to a CSV or JSON Lines file.
+     *
+     * @param path the file to write, replaced if it exists
+     * @return counts and throughput for the export
+     */
+    @Override
+    public TransferReport exportTasks(TaskList taskList, String path) throws SnowFileException {
+        loadAll(taskList);
+        try {
+            return TaskTransfer.exportTo(Paths.get(path), taskList);
+        } catch (IOException | IllegalArgumentException e) {
+            throw SnowFileException.accessDenied(path + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns archived tasks whose description contains {@code keyword}.
+     * The archive is read on first use. If it cannot be read, a warning is printed and
+     * nothing is returned, so searches of the list still work.
+     */
+    @Override
+    public List<Task> findArchived(String keyword) {
+        try {
+            return archive.find(keyword);
+        } catch (IOException e) {
+            return skipArchive(e);
         }
     }
+
+    /**
+     * Returns archived tasks that occur on {@code date}.
+     * The archive is read on first use. If it cannot be read, a warning is printed and
+     * nothing is returned, so searches of the list still work.
+     */
+    @Override
+    public List<Task> findArchivedOnDate(LocalDate date) {
+        try {
+            return archive.findTaskWithDate(date);
+        } catch (IOException e) {
+            return skipArchive(e);
+        }
+    }
+
+    private List<Task> skipArchive(IOException e) {
+        System.out.println("Warning: Archive not searched - " + filePath + ARCHIVE_SUFFIX + " - " + e.getMessage());
+        return List.of();
+    }
+
+    /** Returns the path of the file that skipped records are quarantined to. */
+    public String getQuarantinePath() {
+        return filePath + ".corrupt";
+    }
+
+    /**
+     * Appends skipped records to the quarantine file so they can be repaired by hand,
+     * since the next save rewrites the save file without them.
+     */
+    private void quarantine(List<String> lines) throws IOException {
+        List<String> entry = new ArrayList<>(lines.size() + 1);
+        entry.add("# quarantined from " + filePath + " at " + LocalDateTime.now());
+        entry.addAll(lines);
+        Files.write(Paths.get(getQuarantinePath()), entry, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
 }
@@ -0,0 +1,228 @@
+package snow.io;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import snow.exception.SnowException;
+import snow.exception.SnowFileException;
+import snow.model.Task;
+import snow.model.TaskList;
+
+/**
+ * Persists a {@link TaskList} for the commands that change and query it.
+ *
+ * <p>The {@link Storage} subclasses keep tasks in files, one per {@link StorageFormat}, and
+ * {@link MemoryStorage} keeps them in memory for tests and benchmarks. Which one the
+ * application uses, and how it saves, is chosen at startup by {@link #fromSystemProperty(String)}.
+ */
+public interface StorageBackend extends AutoCloseable {
+    /** System property naming the backend to use, see {@link #create(String, String)}. */
+    String PROPERTY = "snow.storage";
+
+    /** System property giving the write-behind delay in milliseconds, see {@link #enableWriteBehind(long)}. */
+    String WRITE_BEHIND_PROPERTY = "snow.writeBehind";
+
+    /** System property naming the {@link Durability} level, in any case. */
+    String DURABILITY_PROPERTY = "snow.durability";
+
+    /** Backend used when {@link #PROPERTY} is not set. */
+    String DEFAULT_NAME = "journal";
+
+    /**
+     * Loads every stored task into {@code taskList}.
+     *
+     * @return counts and timings for this load
+     */
+    LoadReport load(TaskList taskList) throws SnowFileException;
+
+    /**
+     * Saves all tasks from {@code taskList}, replacing what was stored.
+     */
+    void save(TaskList taskList) throws SnowFileException;
+
+    /**
+     * Persists the addition of {@code task}, which has just been appended to {@code taskList}.
+     */
+    void recordAdd(TaskList taskList, Task task) throws SnowFileException;
+
+    /**
+     * Persists that the task at {@code index} of {@code taskList} has been marked as done.
+     */
+    void recordMark(TaskList taskList, int index) throws SnowFileException;
+
+    /**
+     * Persists that the task at {@code index} of {@code taskList} has been marked as not done.
+     */
+    void recordUnmark(TaskList taskList, int index) throws SnowFileException;
+
+    /**
+     * Persists that {@code removed}, previously at {@code index}, has been removed from {@code taskList}.
+     */
+    void recordDelete(TaskList taskList, int index, Task removed) throws SnowFileException;
+
+    /**
+     * Writes out any changes that have been held back.
+     */
+    void flush() throws SnowFileException;
+
+    /**
+     * Makes sure every task that may fall on {@code date} is in {@code taskList}.
+     */
+    void loadDate(TaskList taskList, LocalDate date) throws SnowFileException;
+
+    /**
+     * Makes sure every stored task is in {@code taskList}, as index-based commands require.
+     */
+    void loadAll(TaskList taskList) throws SnowFileException;
+
+    /**
+     * Returns the tasks in {@code taskList} that fall on {@code date}, in list order.
+     *
+     * <p>This loads the tasks that may fall on {@code date} and asks the list, which answers
+     * from its in-memory date index.
+     */
+    default List<Task> findByDate(TaskList taskList, LocalDate date) throws SnowFileException {
+        loadDate(taskList, date);
+        return taskList.findTaskWithDate(date);
+    }
+
+    /**
+     * Moves completed tasks that ended before {@code cutoff} from {@code taskList} into the archive.
+     *
+     * @return the number of tasks archived
+     * @throws SnowException if the tasks cannot be archived, or this backend cannot archive
+     */
+    int archive(TaskList taskList, LocalDate cutoff) throws SnowException;
+
+    /**
+     * Returns archived tasks whose description contains {@code keyword}.
+     */
+    List<Task> findArchived(String keyword) throws SnowFileException;
+
+    /**
+     * Returns archived tasks that occur on {@code date}.
+     */
+    List<Task> findArchivedOnDate(LocalDate date) throws SnowFileException;
+
+    /**
+     * Appends the tasks in a CSV or JSON Lines file to {@code taskList} and saves them.
+     *
+     * @param path the file to import
+     * @return counts and throughput for the import
+     * @throws SnowException if the file cannot be imported, or this backend cannot import
+     */
+    TransferReport importTasks(TaskList taskList, String path) throws SnowException;
+
+    /**
+     * Writes every task in {@code taskList} to a CSV or JSON Lines file.
+     *
+     * @param path the file to write, replaced if it exists
+     * @return counts and throughput for the export
+     * @throws SnowException if the file cannot be written, or this backend cannot export
+     */
+    TransferReport exportTasks(TaskList taskList, String path) throws SnowException;
+
+    /**
+     * Applies changes that other processes make to the stored tasks to {@code taskList}
+     * as they happen, then runs {@code onReload}, if this backend can be shared.
+     */
+    default void watch(TaskList taskList, Runnable onReload) throws SnowFileException {
+        // Not shared by default
+    }
+
+    /**
+     * Coalesces saves that would rewrite everything into one save at most every
+     * {@code delayMillis}, written in the background, if this backend writes such saves.
+     */
+    default void enableWriteBehind(long delayMillis) {
+        // Nothing to defer by default
+    }
+
+    /**
+     * Sets when saved data is forced to disk, if this backend writes to disk.
+     */
+    default void setDurability(Durability durability) {
+        // Nothing to force by default
+    }
+
+    /**
+     * Writes out any changes that have been held back and releases what this backend holds.
+     */
+    @Override
+    default void close() throws SnowFileException {
+        flush();
+    }
+
+    /**
+     * Creates the named backend.
+     *
+     * @param name {@code memory}, {@code text}, {@code journal}, {@code binary} or {@code sharded}
+     * @param filePath path to the save file, ignored by the memory backend
+     * @throws IllegalArgumentException if the name is not known
+     */
+    static StorageBackend create(String name, String filePath) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+        case "memory":
+            return new MemoryStorage();
+        case "text":
+            return new TextStorage(filePath);
+        case "journal":
+            return new JournaledStorage(filePath);
+        case "binary":
+            return new BinaryStorage(filePath);
+        case "sharded":
+            return new ShardedStorage(filePath);
+        default:
+            throw new IllegalArgumentException("unknown storage backend: " + name);
+        }
+    }
+
+    /**
+     * Creates the backend named by the {@value #PROPERTY} system property, or the
+     * {@value #DEFAULT_NAME} backend if it is unset or not known. If set, the
+     * {@value #WRITE_BEHIND_PROPERTY} and {@value #DURABILITY_PROPERTY} properties configure it;
+     * values that are not valid are ignored with a warning.
+     *
+     * @param filePath path to the save file, ignored by the memory backend
+     */
+    static StorageBackend fromSystemProperty(String filePath) {
+        String name = System.getProperty(PROPERTY, DEFAULT_NAME);
+        StorageBackend backend;
+        try {
+            backend = create(name, filePath);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Warning: " + e.getMessage() + ", using " + DEFAULT_NAME);
+            backend = create(DEFAULT_NAME, filePath);
+        }
+        configure(backend, System.getProperty(WRITE_BEHIND_PROPERTY), System.getProperty(DURABILITY_PROPERTY));
+        return backend;
+    }
+
+    /**
+     * Applies a write-behind delay and a durability level, given as property values, to {@code backend}.
+     *
+     * @param writeBehind delay in milliseconds, or {@code null} to save synchronously
+     * @param durability name of a {@link Durability} level, or {@code null} for {@link Durability#NONE}
+     */
+    static void configure(StorageBackend backend, String writeBehind, String durability) {
+        if (durability != null) {
+            try {
+                backend.setDurability(Durability.valueOf(durability.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                System.out.println("Warning: unknown durability: " + durability + ", using " + Durability.NONE);
+            }
+        }
+        if (writeBehind != null) {
+            try {
+                long delayMillis = Long.parseLong(writeBehind.trim());
+                if (delayMillis < 0) {
+                    throw new NumberFormatException();
+                }
+                backend.enableWriteBehind(delayMillis);
+            } catch (NumberFormatException e) {
+                System.out.println("Warning: invalid write-behind delay: " + writeBehind + ", saving every change");
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package snow.io;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import snow.exception.SnowFileException;
+import snow.model.Place;
+import snow.model.Task;
+import snow.model.TaskList;
+
+/**
+ * Converts save files between the text and binary formats.
+ *
+ * <p>Conversion works on its own copy of the places and never touches the
+ * {@link snow.model.PlaceRegistry} of the running application.
+ */
+public final class StorageConverter {
+
+    private StorageConverter() {
+
+    }
+
+    /**
+     * Converts a text save file into a binary one.
+     *
+     * @param textPath path of the existing text file
+     * @param binaryPath path of the binary file to write
+     * @return the number of tasks converted
+     */
+    public static int textToBinary(String textPath, String binaryPath) throws SnowFileException {
+        List<Place> places = new ArrayList<>();
+        Map<Integer, Place> placesById = new HashMap<>();
+        TaskList tasks = new TaskList();
+
+        try (BufferedReader br = new BufferedReader(new FileReader(textPath, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (RecordChecksum.hasChecksum(line)) {
+                    if (!RecordChecksum.isIntact(line)) {
+                        System.out.println("Warning: Skipping corrupt line: " + line);
+                        continue;
+                    }
+                    line = RecordChecksum.strip(line);
+                }
+                Place place = Parser.parsePlaceFromStorage(line);
+                if (place != null) {
+                    places.add(place);
+                    placesById.put(place.getId(), place);
+                    continue;
+                }
+                Task task = Parser.parseLine(line);
+                if (task == null) {
+                    System.out.println("Warning: Skipping unconvertible line: " + line);
+                    continue;
+                }
+                task.setPlace(placesById.getOrDefault(Parser.parsePlaceId(line), Place.NONE));
+                tasks.add(task);
+            }
+        } catch (IOException e) {
+            throw SnowFileException.accessDenied(textPath + " - " + e.getMessage());
+        }
+
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(binaryPath))) {
+            BinaryFormat.write(out, places, tasks);
+        } catch (IOException e) {
+            throw SnowFileException.accessDenied(binaryPath + " - " + e.getMessage());
+        }
+        return tasks.size();
+    }
+
+    /**
+     * Converts a binary save file into a text one.
+     *
+     * @param binaryPath path of the existing binary file
+     * @param textPath path of the text file to write
+     * @return the number of tasks converted
+     */
+    public static int binaryToText(String binaryPath, String textPath) throws SnowFileException {
+        List<Place> places = new ArrayList<>();
+        Map<Integer, Place> placesById = new HashMap<>();
+        TaskList tasks = new TaskList();
+
+        try {
+            byte[] data = Files.readAllBytes(Paths.get(binaryPath));
+            BinaryFormat.read(data, place -> {
+                places.add(place);
+                placesById.put(place.getId(), place);
+            }, placesById::get, tasks);
+        } catch (IOException e) {
+            throw SnowFileException.corruptedFile(binaryPath + " - " + e.getMessage());
+        }
+
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(textPath, StandardCharsets.UTF_8))) {
+            for (Place place : places) {
+                bw.write(RecordChecksum.seal(place.toSaveString()));
+                bw.newLine();
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                bw.write(RecordChecksum.seal(tasks.toSaveString(i)));
+                bw.newLine();
+            }
+        } catch (IOException e) {
+            throw SnowFileException.accessDenied(textPath + " - " + e.getMessage());
+        }
+        return tasks.size();
+    }
+}
@@ -0,0 +1,15 @@
+package snow.io;
+
+/**
+ * Enumerates the on-disk formats a {@link Storage} can use, see {@link Storage#forFormat(String, StorageFormat)}.
+ */
+public enum StorageFormat {
+    /** Pipe-delimited text lines, rewritten on every change, see {@link TextStorage}. */
+    TEXT,
+    /** Pipe-delimited text lines, with single changes appended to a {@link Journal}, see {@link JournaledStorage}. */
+    JOURNALED_TEXT,
+    /** Compact versioned binary encoding, see {@link BinaryFormat} and {@link BinaryStorage}. */
+    BINARY,
+    /** Text shard files per month of deadline or event start, see {@link ShardedStorage}. */
+    SHARDED
+}
@@ -0,0 +1,116 @@
+package snow.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The place and task lines currently stored in a text save file and its journal, without
+ * parsing them into objects. Comparing lines is far cheaper than parsing them, so callers
+ * diff these against what they hold and parse only the lines that are new.
+ */
+class StoredLines {
+    private static final String SEQUENCE_MARKER = "# journal=";
+    private static final String PLACE_PREFIX = "P | ";
+
+    private final List<String> places = new ArrayList<>();
+    private final List<String> tasks = new ArrayList<>();
+    private long lastSequence;
+
+    /**
+     * Reads the lines of {@code file}, skipping blank lines and records that fail their checksum.
+     *
+     * @param file the text save file
+     * @return the lines, with {@link #getLastSequence()} set to the file's journal marker
+     */
+    static StoredLines read(File file) throws IOException {
+        StoredLines lines = new StoredLines();
+        if (!file.exists()) {
+            return lines;
+        }
+        for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (line.startsWith(SEQUENCE_MARKER)) {
+                try {
+                    lines.lastSequence = Long.parseLong(line.substring(SEQUENCE_MARKER.length()).trim());
+                } catch (NumberFormatException e) {
+                    lines.lastSequence = 0;
+                }
+                continue;
+            }
+            if (RecordChecksum.hasChecksum(line)) {
+                if (!RecordChecksum.isIntact(line)) {
+                    continue;
+                }
+                line = RecordChecksum.strip(line);
+            }
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    /** Returns the place lines, in file order. */
+    List<String> getPlaces() {
+        return places;
+    }
+
+    /** Returns the task lines, in list order. */
+    List<String> getTasks() {
+        return tasks;
+    }
+
+    /** Returns the sequence number of the last journal record these lines include. */
+    long getLastSequence() {
+        return lastSequence;
+    }
+
+    void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    /**
+     * Adds a place or task line.
+     */
+    void add(String line) {
+        if (line.startsWith(PLACE_PREFIX)) {
+            places.add(line);
+        } else {
+            tasks.add(line);
+        }
+    }
+
+    /**
+     * Sets the done flag of the task line at {@code index}.
+     *
+     * @return false if there is no such task line
+     */
+    boolean setDone(int index, boolean isDone) {
+        if (index < 0 || index >= tasks.size()) {
+            return false;
+        }
+        String[] parts = tasks.get(index).split(" \\| ", 3);
+        if (parts.length < 3) {
+            return false;
+        }
+        tasks.set(index, parts[0] + " | " + (isDone ? "1" : "0") + " | " + parts[2]);
+        return true;
+    }
+
+    /**
+     * Removes the task line at {@code index}.
+     *
+     * @return false if there is no such task line
+     */
+    boolean removeTask(int index) {
+        if (index < 0 || index >= tasks.size()) {
+            return false;
+        }
+        tasks.remove(index);
+        return true;
+    }
+}
@@ -0,0 +1,119 @@
+package snow.io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import snow.model.ColumnarTaskStore;
+import snow.model.Task;
+
+/**
+ * Compressed cold storage for completed tasks that no longer need to be in the hot list.
+ *
+ * <p>The archive is a gzip file of sealed task lines. Each call to {@link #append(List)}
+ * adds one gzip member, which {@link GZIPInputStream} reads back as a single stream, so
+ * archiving never rewrites what is already archived. The archive is only read when it is
+ * first searched; the decoded tasks are then kept for later searches in a
+ * {@link ColumnarTaskStore}, which takes a fraction of the memory of the task objects and
+ * builds only the tasks a search returns.
+ */
+public class TaskArchive {
+    private final File file;
+    private ColumnarTaskStore cached;
+
+    /**
+     * Creates an archive stored at the given path.
+     *
+     * @param filePath path to the archive file
+     */
+    public TaskArchive(String filePath) {
+        this.file = new File(filePath);
+    }
+
+    /**
+     * Appends {@code tasks} to the archive.
+     */
+    public synchronized void append(List<Task> tasks) throws IOException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(file, true)), StandardCharsets.UTF_8))) {
+            for (Task task : tasks) {
+                bw.write(RecordChecksum.seal(task.toSaveString()));
+                bw.newLine();
+            }
+        }
+        if (cached != null) {
+            for (Task task : tasks) {
+                cached.add(task);
+            }
+        }
+    }
+
+    /**
+     * Returns archived tasks whose description contains {@code keyword} (case-insensitive).
+     */
+    public synchronized List<Task> find(String keyword) throws IOException {
+        return tasks().find(keyword);
+    }
+
+    /**
+     * Returns archived tasks that occur on {@code date}.
+     */
+    public synchronized List<Task> findTaskWithDate(LocalDate date) throws IOException {
+        return tasks().findTaskWithDate(date);
+    }
+
+    /**
+     * Returns the number of archived tasks, reading the archive if needed.
+     */
+    public synchronized int size() throws IOException {
+        return tasks().size();
+    }
+
+    /**
+     * Returns whether the archive has been read into memory.
+     */
+    public synchronized boolean isOpen() {
+        return cached != null;
+    }
+
+    private ColumnarTaskStore tasks() throws IOException {
+        if (cached != null) {
+            return cached;
+        }
+        ColumnarTaskStore tasks = new ColumnarTaskStore();
+        if (file.exists()) {
+            try (BufferedReader br = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    if (RecordChecksum.hasChecksum(line)) {
+                        if (!RecordChecksum.isIntact(line)) {
+                            System.out.println("Warning: Checksum mismatch in archive: " + line);
+                            continue;
+                        }
+                        line = RecordChecksum.strip(line);
+                    }
+                    Task task = Parser.parseLine(line);
+                    if (task != null) {
+                        tasks.add(task);
+                    }
+                }
+            }
+        }
+        cached = tasks;
+        return cached;
+    }
+}
@@ -0,0 +1,187 @@
+package snow.io;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import snow.model.Task;
+import snow.model.TaskList;
+
+/**
+ * Applies changes another process saved to the same file to a task list in memory.
+ *
+ * <p>Tasks are matched by their save line without the done flag, and only lines that match
+ * no task in memory are parsed, so existing tasks keep their identity and a small change to a
+ * large file costs little more than comparing its lines.
+ *
+ * <p>{@link #merge} is a three-way merge: compared with the common base, tasks the other side
+ * deleted are dropped, tasks it added are appended in its order, and its mark or unmark changes
+ * are applied unless this side changed the same task's status too, in which case this side wins.
+ * Tasks both sides added identically are kept once. {@link #adopt} is for a list with no
+ * changes of its own, which simply takes the other side's order.
+ */
+final class TaskMerge {
+    private static final int BASE = 0;
+    private static final int THEIRS = 1;
+    private static final int OURS = 2;
+
+    private TaskMerge() {
+
+    }
+
+    /**
+     * Merges into {@code ours} the changes that turned {@code base} into {@code theirs}.
+     *
+     * @param base the save lines of the tasks as this side last read or wrote them
+     * @param theirs the save lines of the tasks as currently saved by the other side
+     * @param ours the tasks as changed by this side since {@code base}; replaced by the merge
+     * @return whether {@code ours} changed
+     */
+    static boolean merge(List<String> base, List<String> theirs, TaskList ours) {
+        Map<String, int[]> tallies = new HashMap<>();
+        for (String line : base) {
+            tally(tallies, line, BASE);
+        }
+        for (String line : theirs) {
+            tally(tallies, line, THEIRS);
+        }
+        for (int i = 0; i < ours.size(); i++) {
+            tally(tallies, ours.get(i).toSaveString(), OURS);
+        }
+
+        boolean isChanged = false;
+        Map<String, Integer> dropped = new HashMap<>();
+        Map<String, List<Task>> kept = new HashMap<>();
+        List<Task> merged = new ArrayList<>(ours.size());
+        for (int i = 0; i < ours.size(); i++) {
+            Task task = ours.get(i);
+            String key = key(task.toSaveString());
+            int[] t = tallies.get(key);
+            if (dropped.getOrDefault(key, 0) < t[2 * BASE] - t[2 * THEIRS]) {
+                dropped.merge(key, 1, Integer::sum);
+                isChanged = true;
+                continue;
+            }
+            merged.add(task);
+            kept.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+        }
+
+        for (Map.Entry<String, int[]> entry : tallies.entrySet()) {
+            int[] t = entry.getValue();
+            int delta = t[2 * THEIRS + 1] - t[2 * BASE + 1];
+            if (delta != 0 && t[2 * OURS + 1] == t[2 * BASE + 1]) {
+                isChanged |= applyStatus(kept.getOrDefault(entry.getKey(), List.of()), delta);
+            }
+        }
+
+        Map<String, Integer> added = new HashMap<>();
+        for (String line : theirs) {
+            String key = key(line);
+            int[] t = tallies.get(key);
+            int theirAdded = t[2 * THEIRS] - t[2 * BASE];
+            int ourAdded = Math.max(0, t[2 * OURS] - t[2 * BASE]);
+            int n = added.merge(key, 1, Integer::sum);
+            Task task = n <= theirAdded - ourAdded ? Parser.parseLine(line) : null;
+            if (task != null) {
+                merged.add(task);
+                isChanged = true;
+            }
+        }
+
+        if (isChanged) {
+            ours.clear();
+            for (Task task : merged) {
+                ours.add(task);
+            }
+        }
+        return isChanged;
+    }
+
+    /**
+     * Makes {@code ours}, which has no unsaved changes of its own, match {@code theirs}.
+     *
+     * @param theirs the save lines of the tasks as currently saved by the other side
+     * @param ours the tasks as this side last read or wrote them; replaced by {@code theirs}
+     * @return whether {@code ours} changed
+     */
+    static boolean adopt(List<String> theirs, TaskList ours) {
+        Map<String, Deque<Task>> existing = new HashMap<>();
+        for (int i = 0; i < ours.size(); i++) {
+            Task task = ours.get(i);
+            existing.computeIfAbsent(key(task.toSaveString()), k -> new ArrayDeque<>()).add(task);
+        }
+
+        boolean isChanged = theirs.size() != ours.size();
+        List<Task> adopted = new ArrayList<>(theirs.size());
+        for (String line : theirs) {
+            Deque<Task> matches = existing.get(key(line));
+            Task task = matches == null ? null : matches.poll();
+            if (task == null) {
+                task = Parser.parseLine(line);
+                if (task == null) {
+                    continue;
+                }
+            } else if (task.isDone() != isDone(line)) {
+                if (isDone(line)) {
+                    task.mark();
+                } else {
+                    task.unmark();
+                }
+                isChanged = true;
+            }
+            isChanged |= adopted.size() >= ours.size() || ours.get(adopted.size()) != task;
+            adopted.add(task);
+        }
+
+        if (isChanged) {
+            ours.clear();
+            for (Task task : adopted) {
+                ours.add(task);
+            }
+        }
+        return isChanged;
+    }
+
+    /**
+     * Marks {@code delta} more of {@code tasks} as done, or unmarks {@code -delta} of them.
+     */
+    private static boolean applyStatus(List<Task> tasks, int delta) {
+        boolean isChanged = false;
+        for (Task task : tasks) {
+            if (delta > 0 && !task.isDone()) {
+                task.mark();
+                delta--;
+                isChanged = true;
+            } else if (delta < 0 && task.isDone()) {
+                task.unmark();
+                delta++;
+                isChanged = true;
+            }
+        }
+        return isChanged;
+    }
+
+    /**
+     * Counts {@code line} for {@code side}: the first slot counts tasks, the second done tasks.
+     */
+    private static void tally(Map<String, int[]> tallies, String line, int side) {
+        int[] t = tallies.computeIfAbsent(key(line), k -> new int[6]);
+        t[2 * side]++;
+        if (isDone(line)) {
+            t[2 * side + 1]++;
+        }
+    }
+
+    private static String key(String line) {
+        String[] parts = line.split(" \\| ", 3);
+        return parts.length < 3 ? parts[0] : parts[0] + " | " + parts[2];
+    }
+
+    private static boolean isDone(String line) {
+        String[] parts = line.split(" \\| ", 3);
+        return parts.length > 1 && "1".equals(parts[1]);
+    }
+}
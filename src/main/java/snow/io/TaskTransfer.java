@@ -0,0 +1,157 @@
+package snow.io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import snow.model.PlaceRegistry;
+import snow.model.Task;
+import snow.model.TaskList;
+
+/**
+ * Streams tasks between a {@link TaskList} and CSV or JSON Lines files, chosen by file extension.
+ *
+ * <p>Records are read and written one at a time through {@link TaskList#toSaveString(int)} and
+ * {@link Parser#parseLine(String)}, so memory use does not grow with the size of the file
+ * beyond the tasks themselves. Records that cannot be read or parsed are skipped and counted.
+ */
+public final class TaskTransfer {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private TaskTransfer() {
+
+    }
+
+    /**
+     * Appends every task in {@code file} to {@code taskList}. Tasks are only appended once the
+     * whole file has been read, so a file that fails partway leaves {@code taskList} unchanged.
+     *
+     * @param file a {@code .csv}, {@code .jsonl} or {@code .ndjson} file
+     * @return counts and timing for the import
+     * @throws IllegalArgumentException if the file extension is not supported
+     */
+    public static TransferReport importFrom(Path file, TaskList taskList) throws IOException {
+        RecordFormat format = formatOf(file);
+        long start = System.nanoTime();
+        List<Task> imported = new ArrayList<>();
+        int skipped = 0;
+        try (BufferedReader in = new BufferedReader(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            while (true) {
+                Task task;
+                try {
+                    String[] record = format.read(in);
+                    if (record == null) {
+                        break;
+                    }
+                    task = toTask(record);
+                } catch (IllegalArgumentException e) {
+                    task = null;
+                }
+                if (task == null) {
+                    skipped++;
+                    continue;
+                }
+                imported.add(task);
+            }
+        }
+        for (Task task : imported) {
+            taskList.add(task);
+        }
+        return new TransferReport(imported.size(), skipped, System.nanoTime() - start);
+    }
+
+    /**
+     * Writes every task in {@code taskList} to {@code file}, replacing it.
+     *
+     * @param file a {@code .csv}, {@code .jsonl} or {@code .ndjson} file
+     * @return counts and timing for the export
+     * @throws IllegalArgumentException if the file extension is not supported
+     */
+    public static TransferReport exportTo(Path file, TaskList taskList) throws IOException {
+        RecordFormat format = formatOf(file);
+        long start = System.nanoTime();
+        try (BufferedWriter out = new BufferedWriter(
+                Files.newBufferedWriter(file, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            format.writeHeader(out);
+            for (int i = 0; i < taskList.size(); i++) {
+                format.write(out, toRecord(taskList.toSaveString(i)));
+            }
+        }
+        return new TransferReport(taskList.size(), 0, System.nanoTime() - start);
+    }
+
+    /**
+     * Returns whether {@code file} has an extension this class can read and write.
+     */
+    public static boolean isSupported(Path file) {
+        try {
+            formatOf(file);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static RecordFormat formatOf(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return new CsvFormat();
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return new JsonLinesFormat();
+        }
+        throw new IllegalArgumentException("unsupported file type: " + file.getFileName());
+    }
+
+    /**
+     * Splits a task's save line into record fields.
+     */
+    private static String[] toRecord(String saveLine) {
+        String[] parts = saveLine.split(" \\| ");
+        String[] record = new String[RecordFormat.FIELDS.length];
+        record[0] = parts[0];
+        record[1] = parts[1];
+        record[2] = parts[2];
+        int date = 3;
+        for (int i = 3; i < parts.length; i++) {
+            if (parts[i].startsWith("at=")) {
+                record[5] = parts[i].length() > 3 ? parts[i].substring(3) : null;
+            } else if (!parts[i].startsWith("pid=") && date < 5) {
+                record[date++] = parts[i];
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Builds a task from record fields by way of its save line.
+     *
+     * @return the task, or {@code null} if the record does not describe a valid task
+     */
+    private static Task toTask(String[] record) {
+        if (record[0] == null || record[2] == null || record[2].isBlank() || record[2].contains(" | ")) {
+            return null;
+        }
+        String done = record[1] == null ? "0" : record[1].trim();
+        StringBuilder line = new StringBuilder(record[0].trim().toUpperCase(Locale.ROOT))
+                .append(" | ").append("1".equals(done) || "true".equalsIgnoreCase(done) ? "1" : "0")
+                .append(" | ").append(record[2].trim());
+        for (int i = 3; i <= 4; i++) {
+            if (record[i] != null && !record[i].isBlank()) {
+                line.append(" | ").append(record[i].trim());
+            }
+        }
+        Task task = Parser.parseLine(line.toString());
+        if (task != null && record[5] != null && !record[5].isBlank()) {
+            task.setPlace(PlaceRegistry.getPlace(record[5].trim()));
+        }
+        return task;
+    }
+}
@@ -0,0 +1,54 @@
+package snow.io;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import snow.model.Place;
+import snow.model.PlaceRegistry;
+import snow.model.TaskList;
+
+/**
+ * Saves a {@link TaskList} in a simple line-based format, rewritten on every change:
+ * every place, then every task, one sealed record per line.
+ */
+public class TextStorage extends SingleFileStorage {
+
+    /**
+     * Creates a storage that reads/writes text at the given file path.
+     *
+     * @param filePath path to the save file
+     */
+    public TextStorage(String filePath) {
+        super(filePath);
+    }
+
+    @Override
+    void writeTo(OutputStream out, TaskList taskList, List<String> taskLines) throws IOException {
+        BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeHeader(bw);
+
+        // Save places first
+        for (Place place : PlaceRegistry.getPlaces()) {
+            bw.write(RecordChecksum.seal(place.toSaveString()));
+            bw.newLine();
+        }
+
+        // Then save tasks
+        for (String line : taskLines) {
+            bw.write(RecordChecksum.seal(line));
+            bw.newLine();
+        }
+        bw.flush();
+    }
+
+    /**
+     * Writes any lines that go before the records.
+     */
+    void writeHeader(BufferedWriter bw) throws IOException {
+        // No header by default
+    }
+}
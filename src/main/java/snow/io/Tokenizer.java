@@ -0,0 +1,81 @@
+package snow.io;
+
+/**
+ * Splits command input by scanning its characters once, without regular expressions.
+ *
+ * <p>Each method gives the same result as the regex it replaces, named in its comment;
+ * whitespace means the characters {@code \s} matches: space, tab, line feed, vertical tab,
+ * form feed and carriage return.
+ */
+final class Tokenizer {
+    private Tokenizer() {
+
+    }
+
+    /**
+     * Trims {@code s} and collapses each run of whitespace inside it into one space,
+     * as {@code s.trim().replaceAll("\\s+", " ")} does.
+     */
+    static String normalize(String s) {
+        int start = 0;
+        int end = s.length();
+        while (start < end && s.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        StringBuilder sb = null;
+        int copied = start;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (!isSpace(c)) {
+                continue;
+            }
+            int runEnd = i + 1;
+            while (runEnd < end && isSpace(s.charAt(runEnd))) {
+                runEnd++;
+            }
+            if (c == ' ' && runEnd == i + 1) {
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(end - start);
+            }
+            sb.append(s, copied, i).append(' ');
+            copied = runEnd;
+            i = runEnd - 1;
+        }
+        if (sb == null) {
+            return s.substring(start, end);
+        }
+        return sb.append(s, copied, end).toString();
+    }
+
+    /**
+     * Splits {@code s} around the first {@code flag} and the whitespace on either side of it,
+     * as {@code s.split("\\s*" + flag + "\\s*", 2)} does.
+     *
+     * @return the text before and after the flag, or just {@code s} if the flag does not occur
+     */
+    static String[] splitOnFlag(String s, String flag) {
+        int at = s.indexOf(flag);
+        if (at < 0) {
+            return new String[] {s};
+        }
+        int before = at;
+        while (before > 0 && isSpace(s.charAt(before - 1))) {
+            before--;
+        }
+        int after = at + flag.length();
+        while (after < s.length() && isSpace(s.charAt(after))) {
+            after++;
+        }
+        return new String[] {s.substring(0, before), s.substring(after)};
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
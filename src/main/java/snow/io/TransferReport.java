@@ -0,0 +1,50 @@
+package snow.io;
+
+/**
+ * Summary of one import or export by {@link TaskTransfer}: how many records moved and how fast.
+ */
+public class TransferReport {
+    private final int recordCount;
+    private final int skippedCount;
+    private final long nanos;
+
+    TransferReport(int recordCount, int skippedCount, long nanos) {
+        this.recordCount = recordCount;
+        this.skippedCount = skippedCount;
+        this.nanos = nanos;
+    }
+
+    /** Returns the number of tasks imported or exported. */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /** Returns the number of records skipped because they could not be read as tasks. */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    /** Returns how long the transfer took, in milliseconds. */
+    public long getMillis() {
+        return nanos / 1_000_000;
+    }
+
+    /** Returns the number of tasks transferred per second. */
+    public long getRecordsPerSecond() {
+        return nanos == 0 ? recordCount : (long) (recordCount * 1e9 / nanos);
+    }
+
+    /**
+     * Returns a copy of this report whose time also covers {@code extraNanos} of further work,
+     * such as saving the imported tasks.
+     */
+    TransferReport plus(long extraNanos) {
+        return new TransferReport(recordCount, skippedCount, nanos + extraNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d records (%d skipped) in %d ms, %d records/s",
+                recordCount, skippedCount, getMillis(), getRecordsPerSecond());
+    }
+}
@@ -1,5 +1,6 @@
 package snow.io;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Scanner;
 
@@ -23,6 +24,8 @@ public class Ui {
     private static final String ADD = "Got it. I've added this task:";
     private static final String DELETE = "Noted. I've removed this task:";
     private static final String FIND = "Here are the matching tasks in your list:";
+    private static final String ARCHIVED = "Also found in the archive:";
+    private static final String OVERDUE = "Here are your overdue tasks:";
     private static final String BYE = "Bye! Stay cool and see u again soon!";
     private static final String GREETING = "Hello! I'm " + NAME;
     private static final String ASK = "What can I do for you?";
@@ -31,7 +34,16 @@ public class Ui {
 
     /** Constructs a {@code Ui} that reads from standard input. */
     public Ui() {
-        sc = new Scanner(System.in);
+        this(new Scanner(System.in));
+    }
+
+    /**
+     * Constructs a {@code Ui} that reads from {@code sc}.
+     *
+     * @param sc the source of user input
+     */
+    protected Ui(Scanner sc) {
+        this.sc = sc;
     }
 
     /**
@@ -151,6 +163,96 @@ public class Ui {
         }
     }
 
+    /**
+     * Prints the tasks that fall within a range of days.
+     *
+     * @param tasksFound the tasks in the range, in chronological order
+     * @param from the first day of the range
+     * @param to the last day of the range
+     */
+    public void printTasksBetween(List<Task> tasksFound, LocalDate from, LocalDate to) {
+        print("Here are the tasks from " + from + " to " + to + ":");
+        if (tasksFound.isEmpty()) {
+            print("No tasks found from " + from + " to " + to + ".");
+        } else {
+            for (int i = 0; i < tasksFound.size(); ++i) {
+                print((i + 1) + "." + tasksFound.get(i));
+            }
+        }
+    }
+
+    /**
+     * Prints the overdue tasks.
+     *
+     * @param tasksFound the overdue tasks, most overdue first
+     */
+    public void printOverdue(List<Task> tasksFound) {
+        print(OVERDUE);
+        if (tasksFound.isEmpty()) {
+            print("Nothing is overdue.");
+        } else {
+            for (int i = 0; i < tasksFound.size(); ++i) {
+                print((i + 1) + "." + tasksFound.get(i));
+            }
+        }
+    }
+
+    /**
+     * Prints archived tasks that matched a search, if any.
+     *
+     * @param archived the archived tasks that matched the query
+     */
+    public void printArchived(List<Task> archived) {
+        if (archived.isEmpty()) {
+            return;
+        }
+        print(ARCHIVED);
+        for (Task task : archived) {
+            print("  - " + task);
+        }
+    }
+
+    /**
+     * Prints the "archived" acknowledgement and current list size.
+     *
+     * @param archived the number of tasks archived
+     * @param ageDays the minimum age of the archived tasks, in days
+     * @param size the new size of the task list
+     */
+    public void printArchive(int archived, int ageDays, int size) {
+        print("Archived " + archived + " completed tasks older than " + ageDays + " days.");
+        print("Now you have " + size + " tasks in your list.");
+    }
+
+    /**
+     * Prints the "imported" acknowledgement with its throughput and the current list size.
+     *
+     * @param report counts and timing of the import
+     * @param path the imported file
+     * @param size the new size of the task list
+     */
+    public void printImport(TransferReport report, String path, int size) {
+        print("Imported " + report.getRecordCount() + " tasks from " + path + " (" + report.getSkippedCount()
+                + " skipped) in " + report.getMillis() + " ms, " + report.getRecordsPerSecond() + " tasks/s.");
+        print("Now you have " + size + " tasks in your list.");
+    }
+
+    /**
+     * Prints the "exported" acknowledgement with its throughput.
+     *
+     * @param report counts and timing of the export
+     * @param path the written file
+     */
+    public void printExport(TransferReport report, String path) {
+        print("Exported " + report.getRecordCount() + " tasks to " + path + " in " + report.getMillis() + " ms, "
+                + report.getRecordsPerSecond() + " tasks/s.");
+    }
+
+    /** Prints a note that changes made to the save file by another program were picked up. */
+    public void printReload() {
+        print("Picked up changes made to your tasks by another program.");
+    }
+
     /** Prints the exit message. */
     public void printBye() {
         print(BYE);
@@ -0,0 +1,172 @@
+package snow.io;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import snow.exception.SnowFileException;
+import snow.model.TaskList;
+
+/**
+ * Coalesces bursts of mutations into a single delayed save on a dedicated thread.
+ *
+ * <p>Commands call {@link #markDirty(TaskList)} instead of saving. The first mutation after
+ * a save schedules one write after the configured delay; any mutations made before it runs
+ * are written by that same save. A save holds the {@link TaskList}'s monitor only long enough
+ * to take a {@link TaskList#snapshot()}, and writes the snapshot while commands keep running.
+ * Only when another process has changed the file, so its changes must be merged into the live
+ * list, does the save hold the monitor throughout. A background save that fails leaves the
+ * changes pending and is tried again after the same delay.
+ */
+public class WriteBehindSaver {
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "snow-write-behind");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Storage storage;
+    private final long delayMillis;
+    private final Object saveLock = new Object();
+
+    private TaskList taskList;
+    private boolean isDirty;
+    private ScheduledFuture<?> scheduled;
+    private long pendingMutations;
+    private long writeCount;
+    private long mutationCount;
+    private long snapshotCount;
+    private long savedSnapshot;
+
+    /**
+     * Creates a saver that writes through {@code storage} at most once per {@code delayMillis}.
+     *
+     * @param storage the storage to save through
+     * @param delayMillis how long to wait after the first unsaved mutation before saving
+     */
+    public WriteBehindSaver(Storage storage, long delayMillis) {
+        this.storage = storage;
+        this.delayMillis = delayMillis;
+    }
+
+    /**
+     * Records that {@code taskList} has changed and schedules a save if none is pending.
+     */
+    public synchronized void markDirty(TaskList taskList) {
+        this.taskList = taskList;
+        this.isDirty = true;
+        pendingMutations++;
+        if (scheduled == null) {
+            scheduled = executor.schedule(this::flushQuietly, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Saves any pending mutations now, on the calling thread.
+     * Waits for a background save that is already in progress.
+     */
+    public void flush() throws SnowFileException {
+        TaskList list;
+        synchronized (this) {
+            list = taskList;
+        }
+        if (list == null) {
+            return;
+        }
+
+        TaskList snapshot = null;
+        long mutations = 0;
+        long number = 0;
+        synchronized (list) {
+            synchronized (this) {
+                if (isDirty) {
+                    isDirty = false;
+                    mutations = pendingMutations;
+                    pendingMutations = 0;
+                    number = ++snapshotCount;
+                    if (scheduled != null) {
+                        scheduled.cancel(false);
+                        scheduled = null;
+                    }
+                    snapshot = list.snapshot();
+                }
+            }
+        }
+
+        try {
+            synchronized (saveLock) {
+                if (snapshot == null) {
+                    return;
+                }
+                if (number < savedSnapshot) {
+                    // A later snapshot, which has these mutations too, is already written
+                    countWrite(mutations, false);
+                    return;
+                }
+                if (storage.saveBatch(snapshot)) {
+                    savedSnapshot = number;
+                    countWrite(mutations, true);
+                    return;
+                }
+            }
+            // The snapshot could not be written as is, so save the live list under its monitor
+            synchronized (list) {
+                long latest;
+                synchronized (this) {
+                    latest = snapshotCount;
+                }
+                synchronized (saveLock) {
+                    storage.saveBatch(list);
+                    savedSnapshot = latest;
+                }
+            }
+            countWrite(mutations, true);
+        } catch (SnowFileException e) {
+            synchronized (this) {
+                isDirty = true;
+                pendingMutations += mutations;
+            }
+            throw e;
+        }
+    }
+
+    /** Returns the number of saves written so far. */
+    public synchronized long getWriteCount() {
+        return writeCount;
+    }
+
+    /** Returns the number of mutations covered by the saves written so far. */
+    public synchronized long getMutationCount() {
+        return mutationCount;
+    }
+
+    private synchronized void countWrite(long mutations, boolean isWritten) {
+        if (isWritten) {
+            writeCount++;
+        }
+        mutationCount += mutations;
+    }
+
+    /**
+     * Stops the background thread. Call {@link #flush()} first to save pending mutations.
+     */
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SnowFileException e) {
+            System.out.println("Warning: Background save failed, retrying: " + e.getMessage());
+            retry();
+        }
+    }
+
+    private synchronized void retry() {
+        if (isDirty && scheduled == null && !executor.isShutdown()) {
+            scheduled = executor.schedule(this::flushQuietly, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package snow.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Holds many tasks compactly, as parallel arrays of primitive fields instead of task objects.
+ *
+ * <p>A {@link Task} with its description, place and dates takes several objects: a
+ * {@link Deadline} about 150 bytes besides its description, an {@link Event} about 220. Here each
+ * task is a type byte, a bit for its status, a place id, two {@code long} second counts for its
+ * dates and its description's UTF-8 bytes in one shared array, about 30 bytes besides the
+ * description. Searches run over the arrays, and {@link #get(int)} builds a task only for
+ * the rows it is asked for.
+ *
+ * <p>Tasks can only be appended, which suits read-mostly collections such as the archive.
+ * A task returned by {@link #get(int)} is a detached copy: changing it does not change the
+ * store. Its place is looked up in the {@link PlaceRegistry} by id, so a place that is not
+ * registered is not kept.
+ */
+public class ColumnarTaskStore {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final TaskType[] TYPES = TaskType.values();
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private final BitSet dones = new BitSet();
+    private int[] placeIds = new int[INITIAL_CAPACITY];
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private int[] textEnds = new int[INITIAL_CAPACITY];
+    private byte[] text = new byte[INITIAL_CAPACITY * 16];
+    private int textSize;
+    private int size;
+
+    /** Nanoseconds of the rare dates that have them, keyed by row * 2 (start) or row * 2 + 1 (end). */
+    private final Map<Integer, Integer> nanos = new HashMap<>();
+
+    /**
+     * Appends the fields of {@code task}. Later changes to {@code task} are not seen.
+     */
+    public synchronized void add(Task task) {
+        ensureCapacity(size + 1);
+        int row = size;
+        TaskType type = task instanceof Event ? TaskType.EVENT
+                : task instanceof Deadline ? TaskType.DEADLINE : TaskType.TODO;
+        types[row] = (byte) type.ordinal();
+        dones.set(row, task.isDone());
+        placeIds[row] = task.getPlace().getId();
+        if (type != TaskType.TODO) {
+            starts[row] = toSeconds(task.getFirstDateTime(), row * 2);
+            ends[row] = toSeconds(task.getLastDateTime(), row * 2 + 1);
+        }
+        appendText(task.getDescription());
+        size++;
+    }
+
+    /** Returns the number of tasks. */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Builds the task at {@code row}.
+     *
+     * @throws IndexOutOfBoundsException if the row is invalid
+     */
+    public synchronized Task get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Index " + row + " out of bounds for length " + size);
+        }
+        String name = description(row);
+        Task task = switch (TYPES[types[row]]) {
+        case TODO -> new Todo(name);
+        case DEADLINE -> new Deadline(name, toDateTime(starts[row], row * 2));
+        case EVENT -> new Event(name, toDateTime(starts[row], row * 2), toDateTime(ends[row], row * 2 + 1));
+        };
+        if (dones.get(row)) {
+            task.mark();
+        }
+        if (placeIds[row] != Place.NONE.getId()) {
+            Place place = PlaceRegistry.findById(placeIds[row]);
+            if (place != null) {
+                task.setPlace(place);
+            }
+        }
+        return task;
+    }
+
+    /** Returns whether the task at {@code row} is done. */
+    public synchronized boolean isDone(int row) {
+        return dones.get(row);
+    }
+
+    /**
+     * Returns the tasks whose description contains {@code keyword}, case-insensitively as
+     * {@link TaskList#find(String)} matches it.
+     *
+     * <p>An ASCII keyword is matched against the stored bytes directly, building only the
+     * matching tasks; any other keyword is matched against each decoded description.
+     */
+    public synchronized List<Task> find(String keyword) {
+        List<Task> found = new ArrayList<>();
+        byte[] key = asciiBytes(keyword);
+        Pattern p = key == null ? Pattern.compile(Pattern.quote(keyword), Pattern.CASE_INSENSITIVE) : null;
+        int textStart = 0;
+        for (int row = 0; row < size; row++) {
+            boolean isMatch = p == null
+                    ? containsFolded(textStart, textEnds[row], key)
+                    : p.matcher(description(row)).find();
+            if (isMatch) {
+                found.add(get(row));
+            }
+            textStart = textEnds[row];
+        }
+        return found;
+    }
+
+    /**
+     * Returns the tasks that fall on {@code date}, as {@link Task#isOnDate(LocalDate)} decides,
+     * comparing the stored seconds instead of building dates. Todos are skipped.
+     */
+    public synchronized List<Task> findTaskWithDate(LocalDate date) {
+        List<Task> found = new ArrayList<>();
+        long dayStart = date.toEpochDay() * SECONDS_PER_DAY;
+        long dayEnd = dayStart + SECONDS_PER_DAY;
+        for (int row = 0; row < size; row++) {
+            if (types[row] != TaskType.TODO.ordinal() && starts[row] < dayEnd && ends[row] >= dayStart) {
+                found.add(get(row));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the approximate number of bytes the stored tasks take, excluding spare capacity.
+     */
+    public synchronized long getFootprint() {
+        // Per row: type, place id, two dates and a text end, plus a bit for the status
+        return size * (1L + Integer.BYTES + 2L * Long.BYTES + Integer.BYTES) + size / 8 + textSize
+                + nanos.size() * 48L;
+    }
+
+    private long toSeconds(LocalDateTime dateTime, int slot) {
+        if (dateTime.getNano() != 0) {
+            nanos.put(slot, dateTime.getNano());
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private LocalDateTime toDateTime(long seconds, int slot) {
+        return LocalDateTime.ofEpochSecond(seconds, nanos.getOrDefault(slot, 0), ZoneOffset.UTC);
+    }
+
+    private String description(int row) {
+        int start = row == 0 ? 0 : textEnds[row - 1];
+        return new String(text, start, textEnds[row] - start, StandardCharsets.UTF_8);
+    }
+
+    private void appendText(String description) {
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        if (textSize + bytes.length > text.length) {
+            text = Arrays.copyOf(text, Math.max(textSize + bytes.length, text.length + (text.length >> 1)));
+        }
+        System.arraycopy(bytes, 0, text, textSize, bytes.length);
+        textSize += bytes.length;
+        textEnds[size] = textSize;
+    }
+
+    /**
+     * Returns whether the bytes from {@code start} to {@code end} contain {@code key},
+     * folding ASCII letters to lower case. Bytes of multi-byte UTF-8 characters are never
+     * ASCII, so they only ever match themselves, as in the decoded text.
+     */
+    private boolean containsFolded(int start, int end, byte[] key) {
+        int last = end - key.length;
+        for (int i = start; i <= last; i++) {
+            int j = 0;
+            while (j < key.length && fold(text[i + j]) == key[j]) {
+                j++;
+            }
+            if (j == key.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns {@code s} folded to lower case as ASCII bytes, or {@code null} if it is not ASCII. */
+    private static byte[] asciiBytes(String s) {
+        byte[] bytes = new byte[s.length()];
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                return null;
+            }
+            bytes[i] = fold((byte) c);
+        }
+        return bytes;
+    }
+
+    private static byte fold(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int length = Math.max(capacity, types.length + (types.length >> 1));
+        types = Arrays.copyOf(types, length);
+        placeIds = Arrays.copyOf(placeIds, length);
+        starts = Arrays.copyOf(starts, length);
+        ends = Arrays.copyOf(ends, length);
+        textEnds = Arrays.copyOf(textEnds, length);
+    }
+}
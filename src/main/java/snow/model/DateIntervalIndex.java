@@ -0,0 +1,214 @@
+package snow.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * An index of the dates tasks fall on, answering which tasks fall within a range of days
+ * without visiting the others.
+ *
+ * <p>Tasks that fall on a single day, such as deadlines, are kept in a map sorted by day.
+ * Tasks that span several days, such as most events, are kept in an interval tree: a treap
+ * ordered by first day in which every node also records the latest last day below it, so a
+ * search skips every subtree that ends before the range. Tasks without a date, such as todos,
+ * are not indexed at all. A search costs O(log n + k) for k matches; putting the matches back
+ * into list order, when that is needed, costs a sort.
+ */
+final class DateIntervalIndex {
+    private final TreeMap<Long, List<Task>> singleDays = new TreeMap<>();
+    private final Map<Task, Long> orders = new HashMap<>();
+    private final Random random = new Random();
+    private Node spans;
+    private long nextOrder;
+    private boolean hasDuplicates;
+
+    /** Indexes the dates of {@code task}, which has been added at the end of the list. */
+    void add(Task task) {
+        long order = nextOrder++;
+        LocalDate first = task.getFirstDate();
+        if (first == null) {
+            return;
+        }
+        if (orders.put(task, order) != null) {
+            hasDuplicates = true;
+        }
+        long start = first.toEpochDay();
+        long end = task.getLastDate().toEpochDay();
+        if (start == end) {
+            singleDays.computeIfAbsent(start, d -> new ArrayList<>(1)).add(task);
+        } else {
+            spans = insert(spans, new Node(start, end, order, task, random.nextInt()));
+        }
+    }
+
+    /** Drops {@code task}, which has been removed from the list. */
+    void remove(Task task) {
+        Long order = orders.remove(task);
+        if (order == null) {
+            return;
+        }
+        long start = task.getFirstDate().toEpochDay();
+        if (start == task.getLastDate().toEpochDay()) {
+            List<Task> tasks = singleDays.get(start);
+            tasks.remove(task);
+            if (tasks.isEmpty()) {
+                singleDays.remove(start);
+            }
+        } else {
+            spans = delete(spans, start, order);
+        }
+    }
+
+    /**
+     * Returns the tasks that fall on at least one day from {@code from} to {@code to} inclusive,
+     * in no particular order, or {@code null} if some task is in the list more than once and the
+     * index cannot tell its positions apart.
+     */
+    List<Task> find(LocalDate from, LocalDate to) {
+        if (hasDuplicates) {
+            return null;
+        }
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        List<Task> found = new ArrayList<>();
+        for (List<Task> tasks : singleDays.subMap(first, true, last, true).values()) {
+            found.addAll(tasks);
+        }
+        collect(spans, first, last, found);
+        return found;
+    }
+
+    /**
+     * Returns a comparator that orders indexed tasks as they are in the list.
+     */
+    Comparator<Task> listOrder() {
+        return Comparator.comparingLong(orders::get);
+    }
+
+    private static void collect(Node node, long first, long last, List<Task> found) {
+        if (node == null || node.maxEnd < first) {
+            return;
+        }
+        collect(node.left, first, last, found);
+        if (node.start <= last) {
+            if (node.end >= first) {
+                found.add(node.task);
+            }
+            collect(node.right, first, last, found);
+        }
+    }
+
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (node.isBefore(root.start, root.order)) {
+            root.left = insert(root.left, node);
+            if (root.left.priority > root.priority) {
+                root = rotateRight(root);
+            }
+        } else {
+            root.right = insert(root.right, node);
+            if (root.right.priority > root.priority) {
+                root = rotateLeft(root);
+            }
+        }
+        root.update();
+        return root;
+    }
+
+    private static Node delete(Node root, long start, long order) {
+        if (root == null) {
+            return null;
+        }
+        if (root.start == start && root.order == order) {
+            return merge(root.left, root.right);
+        }
+        if (start < root.start || start == root.start && order < root.order) {
+            root.left = delete(root.left, start, order);
+        } else {
+            root.right = delete(root.right, start, order);
+        }
+        root.update();
+        return root;
+    }
+
+    /** Joins two treaps whose keys are all in {@code left} before all in {@code right}. */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node top = node.left;
+        node.left = top.right;
+        top.right = node;
+        node.update();
+        top.update();
+        return top;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node top = node.right;
+        node.right = top.left;
+        top.left = node;
+        node.update();
+        top.update();
+        return top;
+    }
+
+    /**
+     * A task spanning {@code start} to {@code end}, as epoch days, in the interval tree.
+     */
+    private static final class Node {
+        private final long start;
+        private final long end;
+        private final long order;
+        private final Task task;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(long start, long end, long order, Task task, int priority) {
+            this.start = start;
+            this.end = end;
+            this.order = order;
+            this.task = task;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        boolean isBefore(long otherStart, long otherOrder) {
+            return start < otherStart || start == otherStart && order < otherOrder;
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd > maxEnd) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > maxEnd) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
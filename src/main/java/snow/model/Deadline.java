@@ -25,14 +25,41 @@ public class Deadline extends Task {
         this.date = date;
     }
 
+    /**
+     * Returns the due date of this deadline.
+     */
+    public LocalDateTime getDate() {
+        return this.date;
+    }
+
+    @Override
+    public LocalDateTime getFirstDateTime() {
+        return this.date;
+    }
+
+    @Override
+    public LocalDateTime getLastDateTime() {
+        return this.date;
+    }
+
+    @Override
+    public LocalDate getFirstDate() {
+        return this.date.toLocalDate();
+    }
+
+    @Override
+    public LocalDate getLastDate() {
+        return this.date.toLocalDate();
+    }
+
     @Override
     public boolean isOnDate(LocalDate date) {
         return date.isEqual(this.date.toLocalDate());
     }
 
     @Override
-    public String toSaveString() {
-        return "D | " + super.toSaveString() + " | " + this.date;
+    public String toSaveString(boolean isDone) {
+        return "D | " + super.toSaveString(isDone) + " | " + this.date;
     }
 
     @Override
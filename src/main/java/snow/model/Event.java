@@ -35,6 +35,40 @@ public class Event extends Task {
         this.toDate = toDate;
     }
 
+    /**
+     * Returns the start date of this event.
+     */
+    public LocalDateTime getFromDate() {
+        return this.fromDate;
+    }
+
+    /**
+     * Returns the end date of this event.
+     */
+    public LocalDateTime getToDate() {
+        return this.toDate;
+    }
+
+    @Override
+    public LocalDateTime getFirstDateTime() {
+        return this.fromDate;
+    }
+
+    @Override
+    public LocalDateTime getLastDateTime() {
+        return this.toDate;
+    }
+
+    @Override
+    public LocalDate getFirstDate() {
+        return this.fromDate.toLocalDate();
+    }
+
+    @Override
+    public LocalDate getLastDate() {
+        return this.toDate.toLocalDate();
+    }
+
     @Override
     public boolean isOnDate(LocalDate date) {
         LocalDate fromDate = this.fromDate.toLocalDate();
@@ -43,8 +77,8 @@ public class Event extends Task {
     }
 
     @Override
-    public String toSaveString() {
-        return "E | " + super.toSaveString() + " | " + this.fromDate + " | " + this.toDate;
+    public String toSaveString(boolean isDone) {
+        return "E | " + super.toSaveString(isDone) + " | " + this.fromDate + " | " + this.toDate;
     }
 
     @Override
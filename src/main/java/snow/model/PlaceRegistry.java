@@ -1,15 +1,18 @@
 package snow.model;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Registry for managing places assigned to tasks.
  * Maintains a centralized collection of all places and provides
  * methods for creating and retrieving places.
+ *
+ * <p>The collection is copy-on-write, so iterating {@link #getPlaces()} sees the places
+ * as they were when the iteration began, even while another thread adds one.
  */
 public class PlaceRegistry {
-    private static final List<Place> places = new ArrayList<>();
+    private static final List<Place> places = new CopyOnWriteArrayList<>();
     private static int nextId = 1;
 
     /**
@@ -43,7 +46,7 @@ public class PlaceRegistry {
     /**
      * Gets if exists, else creates a new one.
      */
-    public static Place getPlace(String name) {
+    public static synchronized Place getPlace(String name) {
         Place p = findByName(name);
         if (p != null) {
             return p;
@@ -57,7 +60,7 @@ public class PlaceRegistry {
     /**
      * Add a place with specific ID (used during loading from storage).
      */
-    public static void addPlace(Place place) {
+    public static synchronized void addPlace(Place place) {
         places.add(place);
         // Update nextId to ensure no conflicts
         if (place.getId() >= nextId) {
@@ -65,10 +68,20 @@ public class PlaceRegistry {
         }
     }
 
+    /**
+     * Remove the places added after the first {@code count} (used to undo commands).
+     * Places are only ever appended, so these are the places created since there were {@code count}.
+     */
+    public static synchronized void keepFirst(int count) {
+        while (places.size() > count) {
+            places.remove(places.size() - 1);
+        }
+    }
+
     /**
      * Clear all places (used for loading from storage).
      */
-    public static void clearPlaces() {
+    public static synchronized void clearPlaces() {
         places.clear();
         nextId = 1;
     }
@@ -1,10 +1,11 @@
 package snow.model;
 
 import snow.commands.Command;
+import snow.commands.TransactionBlock;
 import snow.exception.SnowException;
 import snow.exception.SnowFileException;
 import snow.io.Parser;
-import snow.io.Storage;
+import snow.io.StorageBackend;
 import snow.io.Ui;
 
 /**
@@ -22,18 +23,23 @@ public class Snow {
     /** The Ui for printing */
     private static final Ui UI = new Ui();
 
-    /** The Storage for saving data */
-    private static final Storage STORAGE = new Storage(FILE_PATH);
+    /** The Storage for saving data, chosen by the {@code snow.storage} system property */
+    private static final StorageBackend STORAGE = StorageBackend.fromSystemProperty(FILE_PATH);
+
+    /** Commands queued between 'begin' and 'commit' */
+    private final TransactionBlock block = new TransactionBlock();
 
     private String commandType;
     private boolean shouldExit = false;
 
     /**
-     * Constructs a new Snow instance and loads existing tasks from storage.
+     * Constructs a new Snow instance, loads existing tasks from storage
+     * and starts picking up changes other programs make to the file.
      */
     public Snow() {
         try {
             STORAGE.load(TASKS);
+            STORAGE.watch(TASKS, UI::printReload);
         } catch (SnowFileException e) {
             System.out.println("Warning: " + e.getMessage());
             // Continue with empty task list
@@ -42,12 +48,15 @@ public class Snow {
 
     /**
      * Generates a response for the user's chat message.
+     * Between 'begin' and 'commit', commands are queued and run together at the commit.
      */
     public String getResponse(String input) {
         try {
-            Command c = Parser.getCmd(input);
+            Command c = block.route(Parser.getCmd(input), input);
             assert c != null : "Parser must return a valid command";
-            c.execute(TASKS, UI, STORAGE);
+            synchronized (TASKS) {
+                c.execute(TASKS, UI, STORAGE);
+            }
             commandType = c.getClass().getSimpleName();
             shouldExit = c.isExit();
             return c.getString();
@@ -80,6 +89,7 @@ public class Snow {
      * @param args argument
      */
     public static void main(String[] args) {
+        Snow snow = new Snow();
         UI.printGreeting();
 
         while (true) {
@@ -90,8 +100,10 @@ public class Snow {
             }
             UI.printLine();
             try {
-                Command cmd = Parser.getCmd(input);
-                cmd.execute(TASKS, UI, STORAGE);
+                Command cmd = snow.block.route(Parser.getCmd(input), input);
+                synchronized (TASKS) {
+                    cmd.execute(TASKS, UI, STORAGE);
+                }
                 if (cmd.isExit()) {
                     break;
                 }
@@ -1,6 +1,7 @@
 package snow.model;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * Represents a task with a description and completion status.
@@ -56,12 +57,50 @@ public abstract class Task {
      */
     public abstract boolean isOnDate(LocalDate date);
 
+    /**
+     * Returns the moment this task starts, or {@code null} if it has no date.
+     */
+    public LocalDateTime getFirstDateTime() {
+        return null;
+    }
+
+    /**
+     * Returns the moment this task is due or ends, or {@code null} if it has no date.
+     */
+    public LocalDateTime getLastDateTime() {
+        return null;
+    }
+
+    /**
+     * Returns the first date this task falls on, or {@code null} if it has no date.
+     */
+    public LocalDate getFirstDate() {
+        return null;
+    }
+
+    /**
+     * Returns the last date this task falls on, or {@code null} if it has no date.
+     */
+    public LocalDate getLastDate() {
+        return null;
+    }
+
     /**
      * Returns the string representation of this task for saving to storage.
      * @return A formatted string containing task data for persistence.
      */
     public String toSaveString() {
-        String base = (this.done ? "1" : "0") + " | " + this.name;
+        return toSaveString(this.done);
+    }
+
+    /**
+     * Returns the string representation of this task for saving to storage, with the given
+     * completion status in place of its current one, as recorded by a {@link TaskList} snapshot.
+     * @param isDone The completion status to save.
+     * @return A formatted string containing task data for persistence.
+     */
+    public String toSaveString(boolean isDone) {
+        String base = (isDone ? "1" : "0") + " | " + this.name;
         if (place != null) {
             base += " | at=" + place.getName() + " | pid=" + place.getId();
         }
@@ -79,6 +118,13 @@ public abstract class Task {
         return place != Place.NONE;
     }
 
+    /**
+     * Returns the place this task is attached to, or {@link Place#NONE}.
+     */
+    public Place getPlace() {
+        return this.place;
+    }
+
     /**
      * Sets this task's place to a place.
      * @param place Place that this task is attached to
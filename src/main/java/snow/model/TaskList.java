@@ -1,24 +1,63 @@
 package snow.model;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import snow.exception.SnowTaskException;
 
 /**
  * A mutable list of {@link Task} objects with simple query helpers.
+ *
+ * <p>{@link #snapshot()} returns a read-only, point-in-time copy of the list in constant time.
+ * The copy shares the list's arrays; the first change made to the list after a snapshot copies
+ * them, so the snapshot never sees it. Completion status is recorded in the list as well as in
+ * each task, so a snapshot keeps the status each task had when it was taken. Persistence and
+ * long-running queries can work on a snapshot without holding up commands that change the list.
+ *
+ * <p>The first {@link #findWords(String)} builds an index of the words in task descriptions,
+ * which is then updated as tasks are added and removed, so later searches do not scan the
+ * list. Lists that are never searched by word, such as those being loaded, pay nothing for it.
+ * Likewise, the first {@link #find(String)} for a keyword of three or more characters builds
+ * an index of the descriptions' trigrams, which narrows later searches to the few tasks that
+ * can match, and the first {@link #findTaskWithDate(LocalDate)} builds an index of the dates
+ * tasks fall on. Snapshots have no indexes and scan instead.
  */
 public class TaskList {
-    private final List<Task> items;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Comparator<Task> BY_START = Comparator.comparing(Task::getFirstDateTime);
+    private static final Comparator<Task> BY_END = Comparator.comparing(Task::getLastDateTime);
+    /** Ranks every task equal, leaving them in list order. */
+    private static final Comparator<Task> BY_LIST = (a, b) -> 0;
+
+    private Task[] items;
+    private boolean[] dones;
     private int size;
+    private boolean isShared;
+    private final boolean isReadOnly;
+    private TokenIndex words;
+    private TrigramIndex trigrams;
+    private DateIntervalIndex dates;
 
     /** Creates an empty {@code TaskList}. */
     public TaskList() {
-        this.items = new ArrayList<Task>();
+        this.items = new Task[INITIAL_CAPACITY];
+        this.dones = new boolean[INITIAL_CAPACITY];
         this.size = 0;
+        this.isReadOnly = false;
+    }
+
+    private TaskList(Task[] items, boolean[] dones, int size) {
+        this.items = items;
+        this.dones = dones;
+        this.size = size;
+        this.isShared = true;
+        this.isReadOnly = true;
     }
 
     /**
@@ -26,9 +65,20 @@ public class TaskList {
      *
      * @param task the task to add
      */
-    public void add(Task task) {
-        items.add(task);
+    public synchronized void add(Task task) {
+        prepareWrite(size + 1);
+        items[size] = task;
+        dones[size] = task.isDone();
         size++;
+        if (words != null) {
+            words.add(task);
+        }
+        if (trigrams != null) {
+            trigrams.add(task);
+        }
+        if (dates != null) {
+            dates.add(task);
+        }
     }
 
     /**
@@ -36,9 +86,11 @@ public class TaskList {
      *
      * @param index zero-based index of the task
      */
-    public void mark(int index) {
-        if (index >= 0 && index < items.size()) {
-            items.get(index).mark();
+    public synchronized void mark(int index) {
+        if (index >= 0 && index < size) {
+            prepareWrite(size);
+            items[index].mark();
+            dones[index] = true;
         }
         // Silently ignore invalid indices for graceful handling
     }
@@ -48,13 +100,29 @@ public class TaskList {
      *
      * @param index zero-based index of the task
      */
-    public void unmark(int index) {
-        if (index >= 0 && index < items.size()) {
-            items.get(index).unmark();
+    public synchronized void unmark(int index) {
+        if (index >= 0 && index < size) {
+            prepareWrite(size);
+            items[index].unmark();
+            dones[index] = false;
         }
         // Silently ignore invalid indices for graceful handling
     }
 
+    /**
+     * Removes every task from the list.
+     */
+    public synchronized void clear() {
+        checkWritable();
+        items = new Task[INITIAL_CAPACITY];
+        dones = new boolean[INITIAL_CAPACITY];
+        size = 0;
+        isShared = false;
+        words = null;
+        trigrams = null;
+        dates = null;
+    }
+
     /**
      * Returns the number of tasks in the list.
      *
@@ -72,7 +140,33 @@ public class TaskList {
      * @throws IndexOutOfBoundsException if the index is invalid
      */
     public Task get(int i) {
-        return items.get(i);
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+        }
+        return items[i];
+    }
+
+    /**
+     * Returns whether the task at the given index is done, as of when this list
+     * or snapshot last changed it.
+     *
+     * @param i zero-based index
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public boolean isDone(int i) {
+        get(i);
+        return dones[i];
+    }
+
+    /**
+     * Returns the save string of the task at the given index, with the completion status
+     * recorded by this list or snapshot.
+     *
+     * @param i zero-based index
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public String toSaveString(int i) {
+        return get(i).toSaveString(dones[i]);
     }
 
     /**
@@ -82,35 +176,305 @@ public class TaskList {
      * @return the removed task
      * @throws SnowInvalidIndexException if the index is out of range
      */
-    public Task remove(int i) throws SnowTaskException {
-        if (i >= items.size() || i < 0) {
-            throw SnowTaskException.invalidIndex(i + 1, items.size());
+    public synchronized Task remove(int i) throws SnowTaskException {
+        if (i >= size || i < 0) {
+            throw SnowTaskException.invalidIndex(i + 1, size);
+        }
+        prepareWrite(size);
+        Task removed = items[i];
+        System.arraycopy(items, i + 1, items, i, size - i - 1);
+        System.arraycopy(dones, i + 1, dones, i, size - i - 1);
+        size--;
+        items[size] = null;
+        if (words != null) {
+            words.remove(removed);
+        }
+        if (trigrams != null) {
+            trigrams.remove(removed);
+        }
+        if (dates != null) {
+            dates.remove(removed);
         }
-        Task removed = items.remove(i);
-        size--; // Fix: Decrement size when removing items
         return removed;
     }
 
+    /**
+     * Returns a read-only copy of this list as it is now, in constant time.
+     * Changing the snapshot throws {@link UnsupportedOperationException}.
+     */
+    public synchronized TaskList snapshot() {
+        if (isReadOnly) {
+            return this;
+        }
+        isShared = true;
+        return new TaskList(items, dones, size);
+    }
+
+    /**
+     * Puts this list back as it was when {@code snapshot} was taken of it, in time proportional
+     * to the snapshot's size. Tasks are given back the completion status the snapshot recorded.
+     *
+     * @param snapshot a snapshot taken of this list
+     * @throws IllegalArgumentException if {@code snapshot} is not a snapshot
+     */
+    public synchronized void restore(TaskList snapshot) {
+        checkWritable();
+        if (!snapshot.isReadOnly) {
+            throw new IllegalArgumentException("only a snapshot can be restored");
+        }
+        for (int i = 0; i < snapshot.size; i++) {
+            Task task = snapshot.items[i];
+            if (task.isDone() && !snapshot.dones[i]) {
+                task.unmark();
+            } else if (!task.isDone() && snapshot.dones[i]) {
+                task.mark();
+            }
+        }
+        items = snapshot.items;
+        dones = snapshot.dones;
+        size = snapshot.size;
+        isShared = true;
+        words = null;
+        trigrams = null;
+        dates = null;
+    }
+
+    /** Returns whether this is a snapshot, which cannot be changed. */
+    public boolean isReadOnly() {
+        return isReadOnly;
+    }
+
     /**
      * Finds tasks whose description contains the given keyword (case-insensitive).
      *
+     * <p>On a list, rather than a snapshot, only the tasks the trigram index leaves as
+     * candidates are checked, once the keyword has at least three characters.
+     *
      * @param keyword the search keyword
      * @return matching tasks (possibly empty)
      */
     public List<Task> find(String keyword) {
         Pattern p = Pattern.compile(Pattern.quote(keyword), Pattern.CASE_INSENSITIVE);
-        return items.stream()
-                .filter(t -> p.matcher(t.getDescription()).find())
-                .collect(Collectors.toList());
+        if (!isReadOnly && keyword.length() >= 3) {
+            List<Task> found = findCandidates(p, keyword);
+            if (found != null) {
+                return found;
+            }
+        }
+        Task[] current = items;
+        int n = size;
+        List<Task> found = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (p.matcher(current[i].getDescription()).find()) {
+                found.add(current[i]);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the candidates from the trigram index that match {@code p},
+     * or {@code null} if the index cannot narrow the search for {@code keyword}.
+     */
+    private synchronized List<Task> findCandidates(Pattern p, String keyword) {
+        if (trigrams == null) {
+            trigrams = new TrigramIndex();
+            for (int i = 0; i < size; i++) {
+                trigrams.add(items[i]);
+            }
+        }
+        List<Task> candidates = trigrams.candidates(keyword);
+        if (candidates == null) {
+            return null;
+        }
+        List<Task> found = new ArrayList<>();
+        for (Task task : candidates) {
+            if (p.matcher(task.getDescription()).find()) {
+                found.add(task);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds tasks whose description contains every word of {@code query} as a whole word,
+     * in any order and case-insensitively. A word is a run of letters and digits.
+     *
+     * <p>Once the word index is built, runs in time proportional to the tasks containing the
+     * query's rarest word. A task that is in the list more than once is returned once.
+     *
+     * @param query the words to search for
+     * @return matching tasks in list order (empty if {@code query} has no words)
+     */
+    public synchronized List<Task> findWords(String query) {
+        List<String> queryWords = TokenIndex.words(query);
+        if (!isReadOnly) {
+            if (words == null) {
+                words = new TokenIndex();
+                for (int i = 0; i < size; i++) {
+                    words.add(items[i]);
+                }
+            }
+            return words.find(queryWords);
+        }
+        List<Task> found = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (!queryWords.isEmpty() && containsWords(items[i], queryWords) && !found.contains(items[i])) {
+                found.add(items[i]);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns whether the description of {@code task} contains every word of {@code query}
+     * as a whole word, as {@link #findWords(String)} matches them.
+     */
+    public static boolean containsWords(Task task, String query) {
+        List<String> queryWords = TokenIndex.words(query);
+        return !queryWords.isEmpty() && containsWords(task, queryWords);
+    }
+
+    /**
+     * Splits {@code text} into its distinct lower-case words, as {@link #findWords(String)} does.
+     */
+    public static List<String> splitWords(String text) {
+        return TokenIndex.words(text);
+    }
+
+    private static boolean containsWords(Task task, List<String> queryWords) {
+        return TokenIndex.words(task.getDescription()).containsAll(queryWords);
     }
 
     /**
      * Finds tasks that occur on the specified date.
      *
+     * <p>On a list, rather than a snapshot, this is answered from the date index
+     * without visiting tasks on other dates or tasks without dates.
+     *
      * @param date the date to match
      * @return tasks that fall on {@code date}
      */
     public List<Task> findTaskWithDate(LocalDate date) {
-        return items.stream().filter(t -> t.isOnDate(date)).collect(Collectors.toList());
+        if (!isReadOnly) {
+            List<Task> found = findIndexedDates(date, date, task -> true, BY_LIST);
+            if (found != null) {
+                return found;
+            }
+        }
+        Task[] current = items;
+        int n = size;
+        List<Task> found = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (current[i].isOnDate(date)) {
+                found.add(current[i]);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds tasks that fall on at least one day from {@code from} to {@code to} inclusive,
+     * such as events that overlap the range, in chronological order of their start.
+     * Tasks that start at the same moment keep their list order.
+     *
+     * <p>On a list, rather than a snapshot, this is answered from the date index in time
+     * proportional to the matches, so it costs about the same as one date search.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range
+     * @return tasks that fall within the range
+     */
+    public List<Task> findTasksBetween(LocalDate from, LocalDate to) {
+        List<Task> found = isReadOnly ? null : findIndexedDates(from, to, task -> true, BY_START);
+        if (found == null) {
+            found = scanBetween(from, to);
+            found.sort(BY_START);
+        }
+        return found;
+    }
+
+    /**
+     * Finds tasks that are not done although they were due, or ended, before {@code now},
+     * most overdue first.
+     *
+     * <p>Only tasks that start on or before {@code now}'s day are looked at, and on a list
+     * they are found through the date index. Only the overdue ones are sorted.
+     *
+     * @param now the current moment
+     * @return overdue tasks (possibly empty)
+     */
+    public List<Task> findOverdue(LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        Predicate<Task> isOverdue = task -> !task.isDone() && task.getLastDateTime().isBefore(now);
+        List<Task> found = isReadOnly ? null : findIndexedDates(LocalDate.MIN, today, isOverdue, BY_END);
+        if (found == null) {
+            found = scanBetween(LocalDate.MIN, today);
+            found.removeIf(isOverdue.negate());
+            found.sort(BY_END);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the tasks that fall between {@code from} and {@code to}, in list order, by visiting every task.
+     */
+    private List<Task> scanBetween(LocalDate from, LocalDate to) {
+        Task[] current = items;
+        int n = size;
+        List<Task> found = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            LocalDate first = current[i].getFirstDate();
+            if (first != null && !first.isAfter(to) && !current[i].getLastDate().isBefore(from)) {
+                found.add(current[i]);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the tasks from the date index that fall between {@code from} and {@code to},
+     * or {@code null} if the index cannot answer.
+     *
+     * @param filter which of those tasks to keep
+     * @param order how to sort the kept tasks; ties are left in list order
+     */
+    private synchronized List<Task> findIndexedDates(LocalDate from, LocalDate to, Predicate<Task> filter,
+            Comparator<Task> order) {
+        if (dates == null) {
+            dates = new DateIntervalIndex();
+            for (int i = 0; i < size; i++) {
+                dates.add(items[i]);
+            }
+        }
+        List<Task> found = dates.find(from, to);
+        if (found != null) {
+            found.removeIf(filter.negate());
+            found.sort(order.thenComparing(dates.listOrder()));
+        }
+        return found;
+    }
+
+    /**
+     * Makes the arrays private to this list and large enough for {@code capacity} tasks,
+     * copying them if a snapshot still shares them.
+     */
+    private void prepareWrite(int capacity) {
+        checkWritable();
+        if (isShared || capacity > items.length) {
+            int length = Math.max(items.length, capacity);
+            if (capacity > items.length) {
+                length = Math.max(capacity, items.length + (items.length >> 1));
+            }
+            items = Arrays.copyOf(items, length);
+            dones = Arrays.copyOf(dones, length);
+            isShared = false;
+        }
+    }
+
+    private void checkWritable() {
+        if (isReadOnly) {
+            throw new UnsupportedOperationException("a task list snapshot cannot be changed");
+        }
     }
 }
@@ -17,8 +17,8 @@ public class Todo extends Task {
     }
 
     @Override
-    public String toSaveString() {
-        return "T | " + super.toSaveString();
+    public String toSaveString(boolean isDone) {
+        return "T | " + super.toSaveString(isDone);
     }
 
     @Override
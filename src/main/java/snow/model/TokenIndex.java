@@ -0,0 +1,124 @@
+package snow.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An inverted index from the words in task descriptions to the tasks that contain them.
+ *
+ * <p>A word is a run of letters and digits, compared case-insensitively. Each word maps to
+ * its tasks in the order they were added, so a lookup costs time proportional to the
+ * matches rather than to the size of the list. A task that is in the list more than once
+ * is indexed once and returned once.
+ */
+final class TokenIndex {
+    private final Map<String, Set<Task>> postings = new HashMap<>();
+    private final Map<Task, Integer> counts = new HashMap<>();
+
+    /** Indexes the words of {@code task}. */
+    void add(Task task) {
+        if (counts.merge(task, 1, Integer::sum) > 1) {
+            return;
+        }
+        for (String word : words(task.getDescription())) {
+            postings.computeIfAbsent(word, w -> new LinkedHashSet<>()).add(task);
+        }
+    }
+
+    /** Drops one occurrence of {@code task}, and its words once none is left. */
+    void remove(Task task) {
+        Integer count = counts.get(task);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            counts.put(task, count - 1);
+            return;
+        }
+        counts.remove(task);
+        for (String word : words(task.getDescription())) {
+            Set<Task> tasks = postings.get(word);
+            if (tasks != null) {
+                tasks.remove(task);
+                if (tasks.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    /** Drops every task. */
+    void clear() {
+        postings.clear();
+        counts.clear();
+    }
+
+    /**
+     * Returns the tasks that contain every one of {@code words}, in the order they were added.
+     * Only the tasks for the rarest word are visited.
+     *
+     * @param words words as returned by {@link #words(String)}
+     */
+    List<Task> find(List<String> words) {
+        List<Task> found = new ArrayList<>();
+        if (words.isEmpty()) {
+            return found;
+        }
+        List<Set<Task>> lists = new ArrayList<>(words.size());
+        Set<Task> rarest = null;
+        for (String word : words) {
+            Set<Task> tasks = postings.get(word);
+            if (tasks == null) {
+                return found;
+            }
+            lists.add(tasks);
+            if (rarest == null || tasks.size() < rarest.size()) {
+                rarest = tasks;
+            }
+        }
+        for (Task task : rarest) {
+            if (containsAll(lists, task)) {
+                found.add(task);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Splits {@code text} into its distinct lower-case words, in order of first appearance.
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            while (i < text.length() && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!words.contains(word)) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    private static boolean containsAll(List<Set<Task>> lists, Task task) {
+        for (Set<Task> tasks : lists) {
+            if (!tasks.contains(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,145 @@
+package snow.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index from every three-character substring (trigram) of task descriptions to the tasks
+ * that contain it, used to narrow a substring search before running it.
+ *
+ * <p>Descriptions and keywords are folded to lower case in the ASCII range only, as
+ * {@link java.util.regex.Pattern#CASE_INSENSITIVE} compares them, so every task that matches a
+ * keyword contains all of the keyword's trigrams and is among the candidates. Candidates may
+ * still not match, so callers must check them.
+ *
+ * <p>Tasks are numbered in the order they are added, and each trigram keeps a sorted array of
+ * those numbers. A removed task's number is left in the arrays and skipped, until removed
+ * tasks outnumber the others and the index is rebuilt.
+ */
+final class TrigramIndex {
+    private static final int MIN_COMPACT = 1024;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Task, Integer> ids = new HashMap<>();
+    private Task[] tasks = new Task[16];
+    private int nextId;
+    private int removed;
+    private boolean hasDuplicates;
+
+    /** Indexes the trigrams of {@code task}, which has been added at the end of the list. */
+    void add(Task task) {
+        if (nextId == tasks.length) {
+            tasks = Arrays.copyOf(tasks, nextId * 2);
+        }
+        int id = nextId++;
+        tasks[id] = task;
+        if (ids.put(task, id) != null) {
+            hasDuplicates = true;
+        }
+        String text = task.getDescription();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            postings.computeIfAbsent(key(text, i), k -> new Postings()).add(id);
+        }
+    }
+
+    /** Drops {@code task}, which has been removed from the list. */
+    void remove(Task task) {
+        Integer id = ids.remove(task);
+        if (id == null) {
+            return;
+        }
+        tasks[id] = null;
+        removed++;
+        if (removed >= MIN_COMPACT && removed > nextId - removed) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns the tasks that contain every trigram of {@code keyword}, in list order,
+     * or {@code null} if the index cannot narrow the search for it: when the keyword is
+     * shorter than three characters, or some task is in the list more than once.
+     */
+    List<Task> candidates(String keyword) {
+        if (keyword.length() < 3 || hasDuplicates) {
+            return null;
+        }
+        List<Task> found = new ArrayList<>();
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= keyword.length(); i++) {
+            Postings p = postings.get(key(keyword, i));
+            if (p == null) {
+                return found;
+            }
+            lists.add(p);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        Postings rarest = lists.get(0);
+        for (int i = 0; i < rarest.size; i++) {
+            int id = rarest.numbers[i];
+            if (tasks[id] != null && containsAll(lists, id)) {
+                found.add(tasks[id]);
+            }
+        }
+        return found;
+    }
+
+    private void compact() {
+        Task[] live = new Task[nextId - removed];
+        int n = 0;
+        for (int i = 0; i < nextId; i++) {
+            if (tasks[i] != null) {
+                live[n++] = tasks[i];
+            }
+        }
+        postings.clear();
+        ids.clear();
+        tasks = new Task[Math.max(16, n)];
+        nextId = 0;
+        removed = 0;
+        hasDuplicates = false;
+        for (int i = 0; i < n; i++) {
+            add(live[i]);
+        }
+    }
+
+    private static boolean containsAll(List<Postings> lists, int id) {
+        for (int i = 1; i < lists.size(); i++) {
+            Postings p = lists.get(i);
+            if (Arrays.binarySearch(p.numbers, 0, p.size, id) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Packs the folded trigram starting at {@code i} into one key. */
+    private static long key(String s, int i) {
+        return (long) fold(s.charAt(i)) << 32 | (long) fold(s.charAt(i + 1)) << 16 | fold(s.charAt(i + 2));
+    }
+
+    private static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * The numbers of the tasks containing one trigram, in increasing order.
+     */
+    private static final class Postings {
+        private int[] numbers = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && numbers[size - 1] == id) {
+                return;
+            }
+            if (size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, size * 2);
+            }
+            numbers[size++] = id;
+        }
+    }
+}
@@ -5,11 +5,12 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import snow.io.Storage;
+import snow.io.MemoryStorage;
 import snow.io.Ui;
 import snow.model.Deadline;
 import snow.model.Event;
@@ -20,13 +21,13 @@ public class AddCommandTest {
 
     private TaskList taskList;
     private Ui ui;
-    private Storage storage;
+    private MemoryStorage storage;
 
     @BeforeEach
     void setUp() {
         taskList = new TaskList();
         ui = new Ui(); // Assuming Ui has a default constructor
-        storage = new Storage("test_path.txt"); // Mock storage
+        storage = new MemoryStorage();
     }
 
     @Test
@@ -81,6 +82,13 @@ public class AddCommandTest {
         assertTrue(taskList.get(1) instanceof Deadline);
     }
 
+    @Test
+    void execute_recordsTaskInStorage() throws Exception {
+        AddCommand.todo("read book").execute(taskList, ui, storage);
+
+        assertEquals(List.of("T | 0 | read book | at= | pid=-1"), storage.getLines());
+    }
+
     @Test
     void isExit_returnsFalse() {
         AddCommand command = AddCommand.todo("test task");
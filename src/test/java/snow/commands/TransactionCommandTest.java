@@ -0,0 +1,173 @@
+package snow.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import snow.exception.SnowTransactionException;
+import snow.io.JournaledStorage;
+import snow.io.MemoryStorage;
+import snow.io.Parser;
+import snow.io.Ui;
+import snow.model.PlaceRegistry;
+import snow.model.TaskList;
+
+public class TransactionCommandTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TaskList taskList;
+    private Ui ui;
+    private MemoryStorage storage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        taskList = new TaskList();
+        ui = new Ui();
+        storage = new MemoryStorage();
+        AddCommand.todo("first").execute(taskList, ui, storage);
+        AddCommand.todo("second").execute(taskList, ui, storage);
+    }
+
+    @Test
+    void execute_appliesAllCommandsWithOneSave() throws Exception {
+        Command c = Parser.getCmd("todo third; mark 1; delete 2");
+        assertTrue(c instanceof TransactionCommand);
+
+        c.execute(taskList, ui, storage);
+
+        assertEquals(2, taskList.size());
+        assertTrue(taskList.get(0).isDone());
+        assertEquals("third", taskList.get(1).getDescription());
+        assertEquals(1, storage.getSaveCount());
+        assertEquals(List.of("T | 1 | first | at= | pid=-1", "T | 0 | third | at= | pid=-1"), storage.getLines());
+    }
+
+    @Test
+    void execute_failingCommand_rollsBackEverything() throws Exception {
+        Command c = Parser.getCmd("todo third; mark 1; delete 2; unmark 9");
+
+        SnowTransactionException e = assertThrows(SnowTransactionException.class,
+                () -> c.execute(taskList, ui, storage));
+
+        assertTrue(e.getMessage().startsWith("Command 4 of 4 failed"));
+        assertEquals(2, taskList.size());
+        assertEquals("first", taskList.get(0).getDescription());
+        assertEquals("second", taskList.get(1).getDescription());
+        assertFalse(taskList.get(0).isDone());
+        assertFalse(taskList.isDone(0));
+        assertEquals(0, storage.getSaveCount());
+        assertEquals(List.of("T | 0 | first | at= | pid=-1", "T | 0 | second | at= | pid=-1"), storage.getLines());
+    }
+
+    @Test
+    void getCmd_commandThatWritesDirectly_isRejected() {
+        assertThrows(SnowTransactionException.class, () -> Parser.getCmd("todo third; archive 0"));
+        assertThrows(SnowTransactionException.class, () -> Parser.getCmd("todo third; bye"));
+    }
+
+    @Test
+    void block_queuesUntilCommit() throws Exception {
+        TransactionBlock block = new TransactionBlock();
+
+        block.route(Parser.getCmd("begin"), "begin").execute(taskList, ui, storage);
+        block.route(Parser.getCmd("todo third"), "todo third").execute(taskList, ui, storage);
+        block.route(Parser.getCmd("mark 3"), "mark 3").execute(taskList, ui, storage);
+        assertEquals(2, taskList.size());
+        assertTrue(block.isOpen());
+
+        Command commit = block.route(Parser.getCmd("commit"), "commit");
+        assertTrue(commit instanceof TransactionCommand);
+        commit.execute(taskList, ui, storage);
+
+        assertFalse(block.isOpen());
+        assertEquals(3, taskList.size());
+        assertTrue(taskList.get(2).isDone());
+        assertEquals(1, storage.getSaveCount());
+    }
+
+    @Test
+    void block_rollbackDropsQueuedCommands() throws Exception {
+        TransactionBlock block = new TransactionBlock();
+        block.route(Parser.getCmd("begin"), "begin");
+        block.route(Parser.getCmd("delete 1"), "delete 1");
+
+        Command rollback = block.route(Parser.getCmd("rollback"), "rollback");
+        rollback.execute(taskList, ui, storage);
+
+        assertEquals("Rolled back. 1 command was dropped.", rollback.getString());
+        assertEquals(2, taskList.size());
+        assertThrows(SnowTransactionException.class, () -> block.route(Parser.getCmd("commit"), "commit"));
+    }
+
+    @Test
+    void execute_failingCommand_dropsPlacesItCreated() throws Exception {
+        PlaceRegistry.clearPlaces();
+        AddCommand.todo("lab work /at Lab").execute(taskList, ui, storage);
+
+        assertThrows(SnowTransactionException.class,
+                () -> Parser.getCmd("todo third /at Library; todo fourth /at Lab; delete 99")
+                        .execute(taskList, ui, storage));
+
+        assertEquals(1, PlaceRegistry.getPlaces().size());
+        assertEquals("Lab", PlaceRegistry.getPlaces().get(0).getName());
+        assertNull(PlaceRegistry.findByName("Library"));
+    }
+
+    @Test
+    void execute_printsOnlyOnceEveryCommandSucceeded() throws Exception {
+        List<String> printed = new ArrayList<>();
+        Ui recording = new Ui() {
+            @Override
+            public void print(String message) {
+                printed.add(message);
+            }
+        };
+
+        assertThrows(SnowTransactionException.class,
+                () -> Parser.getCmd("todo third; delete 99").execute(taskList, recording, storage));
+        assertTrue(printed.isEmpty());
+
+        Parser.getCmd("todo third; mark 3").execute(taskList, recording, storage);
+        assertEquals("Got it. I've added this task:", printed.get(0));
+        assertEquals("Nice! I've marked this task as done:", printed.get(3));
+    }
+
+    @Test
+    void execute_findByDate_seesChangesNotYetSaved() throws Exception {
+        JournaledStorage journaled = new JournaledStorage(tempDir.resolve("snow.txt").toString());
+        TaskList journaledList = new TaskList();
+        journaled.load(journaledList);
+        AddCommand.todo("first").execute(journaledList, ui, journaled);
+        Parser.getCmd("deadline old /by 2025-01-01 09:00").execute(journaledList, ui, journaled);
+
+        Command c = Parser.getCmd("deadline new /by 2025-01-01 10:00; delete 2; findbydate 2025-01-01");
+        c.execute(journaledList, ui, journaled);
+
+        String found = c.getString().substring(c.getString().indexOf("Here are the tasks on the specified date:"));
+        assertTrue(found.contains("new"), found);
+        assertFalse(found.contains("old"), found);
+        assertEquals(1, journaled.findByDate(journaledList, LocalDate.of(2025, 1, 1)).size());
+    }
+
+    @Test
+    void deferredStorage_directWrites_areRefusedAsTransactionErrors() {
+        DeferredStorage deferred = new DeferredStorage(storage);
+
+        assertThrows(SnowTransactionException.class, () -> deferred.archive(taskList, LocalDate.now()));
+        assertThrows(SnowTransactionException.class, () -> deferred.importTasks(taskList, "tasks.csv"));
+        assertThrows(SnowTransactionException.class, () -> deferred.exportTasks(taskList, "tasks.csv"));
+    }
+}
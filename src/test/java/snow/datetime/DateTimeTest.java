@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 import org.junit.jupiter.api.Test;
 
@@ -152,4 +154,36 @@ public class DateTimeTest {
             DateTime.parseDate("invalid");
         });
     }
+
+    @Test
+    void parse_matchesFormatterPatterns() throws Exception {
+        String[] inputs = {"2024-02-30", "2023-02-29 10:00", "2024-04-31 08:15", "31/4/2024", "1/2/2024 00:00",
+            "05/07/2024 9:30", "2024-01-31 24:00", "2024-01-31 24:01", "2024-1-31", "2024-01-31T10:00",
+            "12/13/2024", "0/1/2024", "1/1/24", "2024-01-31 10:60", "2024-01-31\t 23:05", "7/7/2024 23:59"};
+        String[] patterns = {"yyyy-MM-dd HH:mm", "d/M/yyyy HH:mm"};
+        String[] datePatterns = {"yyyy-MM-dd", "d/M/yyyy"};
+        for (String input : inputs) {
+            String collapsed = input.replaceAll("\\s+", " ");
+            LocalDateTime expected = null;
+            for (String pattern : patterns) {
+                try {
+                    expected = LocalDateTime.parse(collapsed, DateTimeFormatter.ofPattern(pattern));
+                } catch (DateTimeParseException e) {
+                    // Try the next pattern
+                }
+            }
+            for (String pattern : datePatterns) {
+                try {
+                    expected = LocalDate.parse(collapsed, DateTimeFormatter.ofPattern(pattern)).atTime(23, 59);
+                } catch (DateTimeParseException e) {
+                    // Try the next pattern
+                }
+            }
+            if (expected == null) {
+                assertThrows(SnowInvalidDateException.class, () -> DateTime.parse(input), input);
+            } else {
+                assertEquals(expected, DateTime.parse(input), input);
+            }
+        }
+    }
 }
@@ -1,20 +1,29 @@
 package snow.io;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDateTime;
+
 import org.junit.jupiter.api.Test;
 
 import snow.commands.AddCommand;
+import snow.commands.ArchiveCommand;
 import snow.commands.ByeCommand;
 import snow.commands.Command;
 import snow.commands.DeleteCommand;
+import snow.commands.ExportCommand;
+import snow.commands.FindBetweenCommand;
 import snow.commands.FindCommand;
+import snow.commands.ImportCommand;
 import snow.commands.ListCommand;
 import snow.commands.MarkCommand;
+import snow.commands.OverdueCommand;
+import snow.commands.TransactionCommand;
 import snow.commands.UnmarkCommand;
 import snow.exception.SnowException;
 import snow.exception.SnowInvalidCommandException;
@@ -22,6 +31,7 @@ import snow.exception.SnowTaskException;
 import snow.model.Deadline;
 import snow.model.Event;
 import snow.model.Task;
+import snow.model.TaskList;
 import snow.model.Todo;
 
 public class ParserTest {
@@ -50,6 +60,31 @@ public class ParserTest {
         assertTrue(cmd instanceof UnmarkCommand);
     }
 
+    @Test
+    void getCmd_archive_returnsArchiveCommand() throws SnowException {
+        assertTrue(Parser.getCmd("archive") instanceof ArchiveCommand);
+        assertTrue(Parser.getCmd("archive 7") instanceof ArchiveCommand);
+        assertThrows(SnowInvalidCommandException.class, () -> Parser.getCmd("archive soon"));
+    }
+
+    @Test
+    void getCmd_findBetweenAndOverdue_requireValidRange() throws SnowException {
+        assertTrue(Parser.getCmd("findbetween 2024-11-01 /to 14/11/2024") instanceof FindBetweenCommand);
+        assertTrue(Parser.getCmd("findbetween 2024-11-01 /to 2024-11-01") instanceof FindBetweenCommand);
+        assertTrue(Parser.getCmd("overdue") instanceof OverdueCommand);
+        assertThrows(SnowTaskException.class, () -> Parser.getCmd("findbetween 2024-11-01"));
+        assertThrows(SnowTaskException.class, () -> Parser.getCmd("findbetween /to 2024-11-01"));
+        assertThrows(SnowTaskException.class, () -> Parser.getCmd("findbetween 2024-11-14 /to 2024-11-01"));
+    }
+
+    @Test
+    void getCmd_importExport_requiresSupportedFile() throws SnowException {
+        assertTrue(Parser.getCmd("import tasks.csv") instanceof ImportCommand);
+        assertTrue(Parser.getCmd("export tasks.jsonl") instanceof ExportCommand);
+        assertThrows(SnowInvalidCommandException.class, () -> Parser.getCmd("import"));
+        assertThrows(SnowInvalidCommandException.class, () -> Parser.getCmd("export tasks.txt"));
+    }
+
     @Test
     void getCmd_delete_returnsDeleteCommand() throws SnowException {
         Command cmd = Parser.getCmd("delete 1");
@@ -121,6 +156,22 @@ public class ParserTest {
         assertTrue(cmd instanceof FindCommand);
     }
 
+    @Test
+    void getCmd_separatorInDescription_parsesAsOneCommand() throws SnowException {
+        TaskList taskList = new TaskList();
+        MemoryStorage storage = new MemoryStorage();
+        Command cmd = Parser.getCmd("todo buy milk; eggs");
+        assertTrue(cmd instanceof AddCommand);
+        cmd.execute(taskList, new Ui(), storage);
+        Parser.getCmd("deadline report; draft /by 2025-01-01 10:00").execute(taskList, new Ui(), storage);
+
+        assertEquals(2, taskList.size());
+        assertEquals("buy milk; eggs", taskList.get(0).getDescription());
+        assertEquals("report; draft", taskList.get(1).getDescription());
+        assertTrue(Parser.getCmd("find ;") instanceof FindCommand);
+        assertTrue(Parser.getCmd("todo milk; mark 1") instanceof TransactionCommand);
+    }
+
     @Test
     void getCmd_caseInsensitive_worksCorrectly() throws SnowException {
         assertTrue(Parser.getCmd("BYE") instanceof ByeCommand);
@@ -285,4 +336,54 @@ public class ParserTest {
         assertThrows(SnowTaskException.class, () -> Parser.getCmd("delete "));
         assertThrows(SnowTaskException.class, () -> Parser.getCmd("delete invalid"));
     }
+
+    @Test
+    void tokenizer_normalize_matchesTrimAndCollapse() {
+        String[] inputs = {"", "   ", "todo", "  todo  read   book ", "todo\tread\n\nbook", "a \u000B\f\rb",
+            "\u0000 list \u0001", "x \u0001 y"};
+        for (String input : inputs) {
+            assertEquals(input.trim().replaceAll("\\s+", " "), Tokenizer.normalize(input));
+        }
+    }
+
+    @Test
+    void tokenizer_splitOnFlag_matchesRegexSplit() {
+        String[] inputs = {"report /by 2024-01-31", "report/by2024", "report", "/by", " /by x", "a /by b /by c",
+            "a\t /by\t b", "report /b y"};
+        for (String input : inputs) {
+            assertArrayEquals(input.split("\\s*/by\\s*", 2), Tokenizer.splitOnFlag(input, "/by"));
+        }
+    }
+
+    @Test
+    void lineDecoder_invalidLines_reportReason() {
+        LineDecoder decoder = new LineDecoder();
+        assertEquals(LineDecoder.Result.TOO_FEW_FIELDS, decoder.decode("T | 0"));
+        assertEquals(LineDecoder.Result.BAD_STATUS, decoder.decode("T | 2 | read"));
+        assertEquals(LineDecoder.Result.UNKNOWN_TYPE, decoder.decode("X | 0 | read"));
+        assertEquals(LineDecoder.Result.BLANK_NAME, decoder.decode("T | 0 |  "));
+        assertEquals(LineDecoder.Result.MISSING_DATE, decoder.decode("E | 0 | meet | 2024-01-31T10:00"));
+        assertEquals(LineDecoder.Result.BAD_DATE, decoder.decode("D | 0 | report | 2024-02-30T10:00"));
+        assertEquals(LineDecoder.Result.BAD_TIME_ORDER,
+                decoder.decode("E | 0 | meet | 2024-01-31T12:00 | 2024-01-31T10:00"));
+        assertEquals(LineDecoder.Result.BAD_PLACE_ID, decoder.decode("T | 0 | read | at=home | pid=x"));
+        assertNull(decoder.getTask());
+    }
+
+    @Test
+    void lineDecoder_validLines_decodeFields() {
+        LineDecoder decoder = new LineDecoder();
+        assertEquals(LineDecoder.Result.TASK,
+                decoder.decode("D | 1 | report | at=home | pid=+7 | 2024-01-31T23:59:30"));
+        Task task = decoder.getTask();
+        assertTrue(task instanceof Deadline);
+        assertTrue(task.isDone());
+        assertEquals(7, decoder.getPlaceId());
+        assertEquals(LocalDateTime.of(2024, 1, 31, 23, 59, 30), ((Deadline) task).getDate());
+
+        // Shapes other than the fixed-width ones still parse as LocalDateTime.parse does
+        assertEquals(LineDecoder.Result.TASK, decoder.decode("D | 0 | report | 2024-01-31T23:59:30.5"));
+        assertEquals(LineDecoder.Result.PLACE, decoder.decode("P | 3 | library"));
+        assertEquals("library", decoder.getPlace().getName());
+    }
 }
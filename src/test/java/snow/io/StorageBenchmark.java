@@ -0,0 +1,74 @@
+package snow.io;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import snow.model.TaskList;
+import snow.model.Todo;
+
+/**
+ * Measures the cost per command of each durability level and storage mode,
+ * against the in-memory backend as a baseline.
+ * Run with {@code ./gradlew benchmark}; pass a task count to change the list size.
+ */
+public class StorageBenchmark {
+    private static final int COMMANDS = 200;
+
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        Path dir = Files.createTempDirectory("snow-bench");
+        System.out.printf("%d commands against a list of %d tasks%n", COMMANDS, size);
+        // The first round only warms up the JIT
+        for (int round = 0; round < 2; round++) {
+            if (round > 0) {
+                System.out.printf("%-8s %-20s %8d us/command%n", "-", "memory", time(new MemoryStorage(), size));
+            }
+            for (Durability durability : Durability.values()) {
+                report(round, durability, "save every command",
+                        run(dir, StorageFormat.TEXT, durability, size, false));
+                report(round, durability, "journaled",
+                        run(dir, StorageFormat.JOURNALED_TEXT, durability, size, false));
+                report(round, durability, "write-behind",
+                        run(dir, StorageFormat.TEXT, durability, size, true));
+            }
+        }
+    }
+
+    private static void report(int round, Durability durability, String mode, long micros) {
+        if (round > 0) {
+            System.out.printf("%-8s %-20s %8d us/command%n", durability, mode, micros);
+        }
+    }
+
+    private static long run(Path dir, StorageFormat format, Durability durability,
+                            int size, boolean isWriteBehind) throws Exception {
+        Path file = Files.createTempFile(dir, "bench", ".txt");
+        // Closing stops the write-behind thread and drops its exit hook before the next run
+        try (Storage storage = Storage.forFormat(file.toString(), format)) {
+            storage.setDurability(durability);
+            if (isWriteBehind) {
+                storage.enableWriteBehind(50);
+            }
+            return time(storage, size);
+        }
+    }
+
+    private static long time(StorageBackend storage, int size) throws Exception {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < size; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+        storage.save(tasks);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < COMMANDS; i++) {
+            synchronized (tasks) {
+                Todo todo = new Todo("command " + i);
+                tasks.add(todo);
+                storage.recordAdd(tasks, todo);
+            }
+        }
+        storage.flush();
+        return (System.nanoTime() - start) / 1000 / COMMANDS;
+    }
+}
@@ -2,6 +2,7 @@ package snow.io;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
@@ -9,6 +10,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +25,9 @@ import org.junit.jupiter.api.io.TempDir;
 import snow.exception.SnowFileException;
 import snow.model.Deadline;
 import snow.model.Event;
+import snow.model.Place;
+import snow.model.PlaceRegistry;
+import snow.model.Task;
 import snow.model.TaskList;
 import snow.model.Todo;
 
@@ -26,13 +36,14 @@ public class StorageTest {
     @TempDir
     Path tempDir;
 
-    private Storage storage;
+    private TextStorage storage;
     private String testFilePath;
 
     @BeforeEach
     void setUp() {
         testFilePath = tempDir.resolve("test_snow.txt").toString();
-        storage = new Storage(testFilePath);
+        storage = new TextStorage(testFilePath);
+        PlaceRegistry.clearPlaces();
     }
 
     @AfterEach
@@ -47,7 +58,7 @@ public class StorageTest {
     @Test
     void constructor_validPath_setsFilePath() {
         @SuppressWarnings("unused")
-        Storage localStorage = new Storage("/path/to/file.txt");
+        TextStorage localStorage = new TextStorage("/path/to/file.txt");
         // Storage doesn't expose file path, but we can test that it doesn't throw
         assertTrue(true); // Constructor should not throw
     }
@@ -76,8 +87,8 @@ public class StorageTest {
         String content = Files.readString(Paths.get(testFilePath));
         String[] lines = content.trim().split("\\r?\\n");
         assertEquals(2, lines.length);
-        assertEquals("T | 0 | read book | at= | pid=-1", lines[0]);
-        assertEquals("T | 1 | complete assignment | at= | pid=-1", lines[1]);
+        assertEquals(RecordChecksum.seal("T | 0 | read book | at= | pid=-1"), lines[0]);
+        assertEquals(RecordChecksum.seal("T | 1 | complete assignment | at= | pid=-1"), lines[1]);
     }
 
     @Test
@@ -90,7 +101,7 @@ public class StorageTest {
         String content = Files.readString(Paths.get(testFilePath));
         String[] lines = content.trim().split("\\r?\\n");
         assertEquals(1, lines.length);
-        assertEquals("D | 0 | submit project | at= | pid=-1 | 2023-12-31T23:59", lines[0]);
+        assertEquals(RecordChecksum.seal("D | 0 | submit project | at= | pid=-1 | 2023-12-31T23:59"), lines[0]);
     }
 
     @Test
@@ -105,7 +116,8 @@ public class StorageTest {
         String content = Files.readString(Paths.get(testFilePath));
         String[] lines = content.trim().split("\\r?\\n");
         assertEquals(1, lines.length);
-        assertEquals("E | 0 | team meeting | at= | pid=-1 | 2023-12-25T14:00 | 2023-12-25T16:00", lines[0]);
+        assertEquals(RecordChecksum.seal("E | 0 | team meeting | at= | pid=-1 | 2023-12-25T14:00 | 2023-12-25T16:00"),
+                lines[0]);
     }
 
     @Test
@@ -130,7 +142,7 @@ public class StorageTest {
     @Test
     void load_nonexistentFile_returnsEmptyTaskList() throws Exception {
         String nonexistentPath = tempDir.resolve("nonexistent.txt").toString();
-        Storage storage = new Storage(nonexistentPath);
+        TextStorage storage = new TextStorage(nonexistentPath);
 
         TaskList taskList = new TaskList();
         storage.load(taskList);
@@ -275,7 +287,7 @@ public class StorageTest {
     void save_invalidPath_handlesGracefully() throws Exception {
         // Test with a path that includes invalid characters or is in a non-existent directory
         String invalidPath = "/nonexistent/directory/file.txt";
-        Storage invalidStorage = new Storage(invalidPath);
+        TextStorage invalidStorage = new TextStorage(invalidPath);
         TaskList taskList = new TaskList();
         taskList.add(new Todo("test task"));
 
@@ -289,4 +301,913 @@ public class StorageTest {
             assertTrue(e instanceof SnowFileException || e instanceof IOException);
         }
     }
+
+    @Test
+    void recordMutations_journaled_appendsInsteadOfRewriting() throws Exception {
+        JournaledStorage journaled = new JournaledStorage(testFilePath);
+        TaskList taskList = new TaskList();
+        journaled.save(taskList);
+
+        Todo todo = new Todo("read book");
+        taskList.add(todo);
+        journaled.recordAdd(taskList, todo);
+        taskList.mark(0);
+        journaled.recordMark(taskList, 0);
+
+        assertEquals("# journal=0", Files.readString(Paths.get(testFilePath)).trim());
+        String journal = Files.readString(Paths.get(testFilePath + ".journal"));
+        String[] lines = journal.trim().split("\\r?\\n");
+        assertEquals(2, lines.length);
+        assertEquals(RecordChecksum.seal("1 | add | T | 0 | read book | at= | pid=-1"), lines[0]);
+        assertEquals(RecordChecksum.seal("2 | mark | 0"), lines[1]);
+    }
+
+    @Test
+    void load_journaled_replaysJournalOnTopOfBaseFile() throws Exception {
+        Files.writeString(Paths.get(testFilePath), "T | 0 | read book\nT | 0 | write essay\n");
+        Files.writeString(Paths.get(testFilePath + ".journal"),
+                "1 | add | D | 0 | submit | at= | pid=-1 | 2023-12-31T23:59\n"
+                + "2 | mark | 1\n"
+                + "3 | delete | 0\n");
+
+        TaskList taskList = new TaskList();
+        new JournaledStorage(testFilePath).load(taskList);
+
+        assertEquals(2, taskList.size());
+        assertEquals("write essay", taskList.get(0).getDescription());
+        assertTrue(taskList.get(0).isDone());
+        assertTrue(taskList.get(1) instanceof Deadline);
+    }
+
+    @Test
+    void save_journaled_foldsAndClearsJournal() throws Exception {
+        JournaledStorage journaled = new JournaledStorage(testFilePath);
+        TaskList taskList = new TaskList();
+        Todo todo = new Todo("read book");
+        taskList.add(todo);
+        journaled.recordAdd(taskList, todo);
+
+        journaled.save(taskList);
+
+        assertFalse(Files.exists(Paths.get(testFilePath + ".journal")));
+        TaskList loadedList = new TaskList();
+        journaled.load(loadedList);
+        assertEquals(1, loadedList.size());
+    }
+
+    @Test
+    void load_journaledWithSequenceMarker_skipsFoldedRecords() throws Exception {
+        Files.writeString(Paths.get(testFilePath), "# journal=2\nT | 1 | read book\nT | 0 | write essay\n");
+        Files.writeString(Paths.get(testFilePath + ".journal"),
+                "1 | add | T | 0 | read book\n"
+                + "2 | mark | 0\n"
+                + "3 | add | T | 0 | go running\n");
+
+        TaskList taskList = new TaskList();
+        JournaledStorage journaled = new JournaledStorage(testFilePath);
+        journaled.load(taskList);
+
+        assertEquals(3, taskList.size());
+        assertEquals("go running", taskList.get(2).getDescription());
+        assertEquals(1, journaled.getReplayedRecords());
+    }
+
+    @Test
+    void compact_journaled_replacesFileAndTruncatesJournal() throws Exception {
+        JournaledStorage journaled = new JournaledStorage(testFilePath);
+        TaskList taskList = new TaskList();
+        journaled.load(taskList);
+        for (int i = 0; i < 3; i++) {
+            Todo todo = new Todo("task " + i);
+            taskList.add(todo);
+            journaled.recordAdd(taskList, todo);
+        }
+
+        journaled.compact(taskList).get();
+
+        String content = Files.readString(Paths.get(testFilePath));
+        assertTrue(content.startsWith("# journal=3"));
+        assertTrue(Files.readString(Paths.get(testFilePath + ".journal")).isBlank());
+        TaskList loadedList = new TaskList();
+        journaled.load(loadedList);
+        assertEquals(3, loadedList.size());
+        assertEquals(0, journaled.getReplayedRecords());
+    }
+
+    @Test
+    void saveAndLoad_binary_preservesTasksAndPlaces() throws Exception {
+        Place library = PlaceRegistry.getPlace("library");
+        TaskList originalList = new TaskList();
+        Todo todo = new Todo("read book");
+        todo.setPlace(library);
+        todo.mark();
+        originalList.add(todo);
+        originalList.add(new Deadline("submit assignment", LocalDateTime.of(2023, 12, 31, 23, 59)));
+        originalList.add(new Event("meeting",
+                LocalDateTime.of(2023, 12, 25, 14, 0),
+                LocalDateTime.of(2023, 12, 25, 16, 0)));
+
+        BinaryStorage binary = new BinaryStorage(testFilePath);
+        binary.save(originalList);
+        PlaceRegistry.clearPlaces();
+        TaskList loadedList = new TaskList();
+        binary.load(loadedList);
+
+        assertEquals(originalList.size(), loadedList.size());
+        for (int i = 0; i < originalList.size(); i++) {
+            assertEquals(originalList.get(i).toSaveString(), loadedList.get(i).toSaveString());
+        }
+        assertEquals("library", PlaceRegistry.findById(library.getId()).getName());
+    }
+
+    @Test
+    void load_binaryWithTextFile_fallsBackToText() throws Exception {
+        Files.writeString(Paths.get(testFilePath), "T | 1 | read book\n");
+
+        TaskList taskList = new TaskList();
+        new BinaryStorage(testFilePath).load(taskList);
+
+        assertEquals(1, taskList.size());
+        assertTrue(taskList.get(0).isDone());
+    }
+
+    @Test
+    void converter_textToBinaryAndBack_roundTrips() throws Exception {
+        String content = "P | 3 | gym\n"
+                + "T | 0 | swim | at=gym | pid=3\n"
+                + "D | 1 | submit | at= | pid=-1 | 2023-12-31T23:59\n"
+                + "E | 0 | meeting | at= | pid=-1 | 2023-12-25T14:00 | 2023-12-25T16:00\n";
+        Files.writeString(Paths.get(testFilePath), content);
+        String binaryPath = tempDir.resolve("snow.bin").toString();
+        String textPath = tempDir.resolve("snow-back.txt").toString();
+
+        assertEquals(3, StorageConverter.textToBinary(testFilePath, binaryPath));
+        assertEquals(3, StorageConverter.binaryToText(binaryPath, textPath));
+
+        String[] written = Files.readString(Paths.get(textPath)).trim().split("\\r?\\n");
+        String[] original = content.trim().split("\n");
+        assertEquals(original.length, written.length);
+        for (int i = 0; i < original.length; i++) {
+            assertEquals(RecordChecksum.seal(original[i]), written[i]);
+        }
+        assertTrue(Files.size(Paths.get(binaryPath)) < content.length());
+    }
+
+    @Test
+    void load_unusualLines_matchesParser() throws Exception {
+        String[] lines = {
+            "P | 4 | caf\u00e9",
+            "T | 1 | caf\u00e9 run | at=caf\u00e9 | pid=4",
+            "D | 0 | with seconds | 2023-12-31T23:59:30",
+            "E | 0 | fractional | 2023-12-25T14:00:00.5 | 2023-12-25T16:00",
+            "D | 2 | bad status | 2023-12-31T23:59",
+            "T | 0 | bad pid | at= | pid=x",
+        };
+        Files.writeString(Paths.get(testFilePath), String.join("\r\n", lines));
+
+        TaskList taskList = new TaskList();
+        storage.load(taskList);
+
+        assertEquals(3, taskList.size());
+        for (int i = 0; i < taskList.size(); i++) {
+            assertEquals(Parser.parseLine(lines[i + 1]).toString(), taskList.get(i).toString());
+        }
+        assertEquals("caf\u00e9", PlaceRegistry.findById(4).getName());
+    }
+
+    @Test
+    void load_largeFile_keepsOrderAndPlacesAcrossChunks() throws Exception {
+        StringBuilder content = new StringBuilder("P | 1 | gym\n");
+        int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            content.append(i % 2 == 0 ? "T | 0 | task " + i + " | at=gym | pid=1\n"
+                    : "D | 1 | task " + i + " | at= | pid=-1 | 2023-12-31T23:59\n");
+        }
+        Files.writeString(Paths.get(testFilePath), content);
+
+        TaskList taskList = new TaskList();
+        storage.load(taskList);
+
+        assertEquals(count, taskList.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals("task " + i, taskList.get(i).getDescription());
+        }
+        assertTrue(taskList.get(0).hasPlace());
+        assertFalse(taskList.get(1).hasPlace());
+        assertTrue(taskList.get(count - 2).hasPlace());
+    }
+
+    @Test
+    void recordAdd_writeBehind_coalescesIntoOneSaveOnFlush() throws Exception {
+        storage.enableWriteBehind(60_000);
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 100; i++) {
+            Todo todo = new Todo("task " + i);
+            taskList.add(todo);
+            storage.recordAdd(taskList, todo);
+        }
+
+        assertFalse(Files.exists(Paths.get(testFilePath)));
+        storage.flush();
+
+        String[] lines = Files.readString(Paths.get(testFilePath)).trim().split("\\r?\\n");
+        assertEquals(100, lines.length);
+    }
+
+    @Test
+    void configure_writeBehindProperty_defersSavesUntilClose() throws Exception {
+        StorageBackend.configure(storage, "60000", null);
+        TaskList taskList = new TaskList();
+        Todo todo = new Todo("read book");
+        taskList.add(todo);
+        storage.recordAdd(taskList, todo);
+        assertFalse(Files.exists(Paths.get(testFilePath)));
+
+        storage.close();
+        assertEquals(1, Files.readAllLines(Paths.get(testFilePath)).size());
+        StorageBackend.configure(new TextStorage(testFilePath), "soon", null);
+    }
+
+    @Test
+    void recordAdd_journaledWriteBehind_defersToOneSaveOnFlush() throws Exception {
+        try (JournaledStorage journaled = new JournaledStorage(testFilePath)) {
+            StorageBackend.configure(journaled, "60000", null);
+            TaskList taskList = new TaskList();
+            journaled.load(taskList);
+            for (int i = 0; i < 3; i++) {
+                Todo todo = new Todo("task " + i);
+                taskList.add(todo);
+                journaled.recordAdd(taskList, todo);
+            }
+            taskList.mark(0);
+            journaled.recordMark(taskList, 0);
+
+            Path journal = Paths.get(testFilePath + ".journal");
+            assertEquals("", Files.readString(Paths.get(testFilePath)));
+            assertTrue(!Files.exists(journal) || Files.size(journal) == 0);
+
+            journaled.flush();
+        }
+        TaskList loaded = new TaskList();
+        new JournaledStorage(testFilePath).load(loaded);
+        assertEquals(3, loaded.size());
+        assertTrue(loaded.get(0).isDone());
+    }
+
+    @Test
+    void findByDate_answersFromTheList() throws Exception {
+        TaskList taskList = new TaskList();
+        storage.load(taskList);
+        Deadline deadline = new Deadline("report", LocalDateTime.of(2024, 3, 1, 9, 0));
+        Event trip = new Event("trip", LocalDateTime.of(2024, 2, 28, 9, 0), LocalDateTime.of(2024, 3, 2, 9, 0));
+        taskList.add(new Todo("read book"));
+        taskList.add(trip);
+        taskList.add(deadline);
+
+        List<Task> found = storage.findByDate(taskList, LocalDateTime.of(2024, 3, 1, 0, 0).toLocalDate());
+
+        assertEquals(List.of(trip, deadline), found);
+        assertEquals(taskList.snapshot().findTaskWithDate(deadline.getDate().toLocalDate()), found);
+    }
+
+    @Test
+    void configure_durabilityProperty_setsLevelOrKeepsNone() {
+        StorageBackend.configure(storage, null, " Batch ");
+        assertEquals(Durability.BATCH, storage.getDurability());
+
+        TextStorage other = new TextStorage(testFilePath);
+        StorageBackend.configure(other, null, "sometimes");
+        assertEquals(Durability.NONE, other.getDurability());
+    }
+
+    @Test
+    void writeBehindSaver_failedBackgroundSave_isRetried() throws Exception {
+        Path blocker = tempDir.resolve("blocker");
+        Files.writeString(blocker, "not a directory");
+        Path file = blocker.resolve("snow.txt");
+        try (TextStorage blocked = new TextStorage(file.toString())) {
+            blocked.enableWriteBehind(20);
+            TaskList taskList = new TaskList();
+            Todo todo = new Todo("read book");
+            taskList.add(todo);
+            blocked.recordAdd(taskList, todo);
+            Thread.sleep(100);
+            assertFalse(Files.exists(file));
+
+            Files.delete(blocker);
+            Files.createDirectory(blocker);
+            for (int i = 0; i < 100 && !Files.exists(file); i++) {
+                Thread.sleep(50);
+            }
+            assertTrue(Files.exists(file));
+        }
+    }
+
+    @Test
+    void writeBehindSaver_burstOfMutations_writesOnce() throws Exception {
+        WriteBehindSaver saver = new WriteBehindSaver(storage, 60_000);
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 50; i++) {
+            taskList.add(new Todo("task " + i));
+            saver.markDirty(taskList);
+        }
+
+        saver.flush();
+        saver.flush();
+
+        assertEquals(1, saver.getWriteCount());
+        assertEquals(50, saver.getMutationCount());
+    }
+
+    @Test
+    void saveBatch_snapshot_writesPointInTimeContent() throws Exception {
+        TaskList taskList = new TaskList();
+        taskList.add(new Todo("first"));
+        TaskList snapshot = taskList.snapshot();
+        taskList.mark(0);
+        taskList.add(new Todo("second"));
+
+        assertTrue(storage.saveBatch(snapshot));
+
+        TaskList loaded = new TaskList();
+        storage.load(loaded);
+        assertEquals(1, loaded.size());
+        assertEquals("first", loaded.get(0).getDescription());
+        assertFalse(loaded.get(0).isDone());
+    }
+
+    @Test
+    void memoryStorage_saveAndLoad_returnsFreshTasks() throws Exception {
+        StorageBackend memory = StorageBackend.create("memory", testFilePath);
+        TaskList taskList = new TaskList();
+        Todo todo = new Todo("first");
+        taskList.add(todo);
+        memory.recordAdd(taskList, todo);
+        taskList.mark(0);
+        memory.recordMark(taskList, 0);
+
+        TaskList loaded = new TaskList();
+        memory.load(loaded);
+
+        assertEquals(1, loaded.size());
+        assertTrue(loaded.get(0).isDone());
+        assertTrue(loaded.get(0) != todo);
+        assertFalse(Files.exists(Paths.get(testFilePath)));
+    }
+
+    @Test
+    void createBackend_eachNameHasItsOwnBackend_unknownNameThrows() {
+        assertTrue(StorageBackend.create("text", testFilePath) instanceof TextStorage);
+        assertTrue(StorageBackend.create("journal", testFilePath) instanceof JournaledStorage);
+        assertTrue(StorageBackend.create("binary", testFilePath) instanceof BinaryStorage);
+        assertTrue(StorageBackend.create("sharded", testFilePath) instanceof ShardedStorage);
+        assertThrows(IllegalArgumentException.class, () -> StorageBackend.create("cloud", testFilePath));
+    }
+
+    @Test
+    void save_existingFile_replacesAtomicallyWithoutLeftoverTemp() throws Exception {
+        TaskList taskList = new TaskList();
+        taskList.add(new Todo("first"));
+        storage.save(taskList);
+        taskList.add(new Todo("second"));
+        storage.save(taskList);
+
+        try (var files = Files.list(tempDir)) {
+            // The lock file is kept for the next writer
+            assertEquals(1, files.filter(p -> !p.toString().endsWith(".lock")).count());
+        }
+        assertEquals(2, Files.readAllLines(Paths.get(testFilePath)).size());
+    }
+
+    @Test
+    void saveAndLoad_everyDurability_roundTrips() throws Exception {
+        for (Durability durability : Durability.values()) {
+            JournaledStorage durable = new JournaledStorage(testFilePath);
+            durable.setDurability(durability);
+            TaskList taskList = new TaskList();
+            Todo todo = new Todo("task " + durability);
+            taskList.add(todo);
+            durable.recordAdd(taskList, todo);
+            durable.save(taskList);
+            Todo extra = new Todo("extra");
+            taskList.add(extra);
+            durable.recordAdd(taskList, extra);
+            durable.flush();
+
+            TaskList loaded = new TaskList();
+            new JournaledStorage(testFilePath).load(loaded);
+            assertEquals(2, loaded.size());
+            assertEquals("task " + durability, loaded.get(0).getDescription());
+            Files.deleteIfExists(Paths.get(testFilePath + ".journal"));
+        }
+    }
+
+    @Test
+    void saveAndLoad_nonAsciiText_everyFormatKeepsItIntact() throws Exception {
+        String name = "caf\u00e9 r\u00e9union \u4f1a\u8b70";
+        for (StorageFormat format : StorageFormat.values()) {
+            Storage writer = Storage.forFormat(testFilePath + format, format);
+            TaskList taskList = new TaskList();
+            Todo todo = new Todo(name);
+            taskList.add(todo);
+            writer.save(taskList);
+            Todo journaled = new Todo(name + " 2");
+            taskList.add(journaled);
+            writer.recordAdd(taskList, journaled);
+
+            TaskList loaded = new TaskList();
+            Storage reader = Storage.forFormat(testFilePath + format, format);
+            LoadReport report = reader.load(loaded);
+            assertFalse(report.hasSkippedRecords(), format.toString());
+            assertEquals(2, loaded.size(), format.toString());
+            assertEquals(name, loaded.get(0).getDescription(), format.toString());
+            assertEquals(name + " 2", loaded.get(1).getDescription(), format.toString());
+        }
+    }
+
+    @Test
+    void seal_record_appendsVerifiableChecksum() {
+        String sealed = RecordChecksum.seal("T | 0 | read book | at= | pid=-1");
+
+        assertTrue(sealed.matches("T \\| 0 \\| read book \\| at= \\| pid=-1 \\| crc=[0-9a-f]{8}"));
+        assertTrue(RecordChecksum.isIntact(sealed));
+        assertFalse(RecordChecksum.isIntact(sealed.replace("read", "reed")));
+        assertFalse(RecordChecksum.hasChecksum("T | 0 | read book | at= | pid=-1"));
+    }
+
+    @Test
+    void load_corruptRecords_skipsAndQuarantinesThem() throws Exception {
+        String corrupt = RecordChecksum.seal("T | 0 | write essay | at= | pid=-1").replace("essay", "esSay");
+        String content = RecordChecksum.seal("T | 0 | read book | at= | pid=-1") + "\n"
+                + corrupt + "\n"
+                + "T | 1 | legacy line | at= | pid=-1\n"
+                + "not a record\n";
+        Files.writeString(Paths.get(testFilePath), content);
+
+        TaskList taskList = new TaskList();
+        LoadReport report = storage.load(taskList);
+
+        assertEquals(2, taskList.size());
+        assertEquals("legacy line", taskList.get(1).getDescription());
+        assertEquals(1, report.getVerifiedCount());
+        assertEquals(1, report.getUncheckedCount());
+        assertEquals(1, report.getCorruptCount());
+        assertEquals(1, report.getUnparseableCount());
+        assertTrue(report.hasSkippedRecords());
+
+        List<String> quarantined = Files.readAllLines(Paths.get(report.getQuarantinePath()));
+        assertTrue(quarantined.contains("# line 2: checksum mismatch"));
+        assertTrue(quarantined.contains(corrupt));
+        assertTrue(quarantined.contains("not a record"));
+    }
+
+    @Test
+    void load_corruptJournalRecord_skipsIt() throws Exception {
+        JournaledStorage journaled = new JournaledStorage(testFilePath);
+        Files.writeString(Paths.get(testFilePath + ".journal"),
+                RecordChecksum.seal("1 | add | T | 0 | read book | at= | pid=-1") + "\n"
+                + RecordChecksum.seal("2 | add | T | 0 | write essay | at= | pid=-1").replace("essay", "ESSAY") + "\n");
+
+        TaskList taskList = new TaskList();
+        LoadReport report = journaled.load(taskList);
+
+        assertEquals(1, taskList.size());
+        assertEquals(1, report.getReplayedCount());
+        assertEquals(1, report.getCorruptJournalCount());
+    }
+
+    @Test
+    void saveAndLoad_sharded_loadsOnlyCurrentAndUpcomingMonthsEagerly() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        ShardedStorage sharded = new ShardedStorage(testFilePath);
+        TaskList taskList = new TaskList();
+        taskList.add(new Deadline("old report", now.minusYears(2)));
+        taskList.add(new Todo("read book"));
+        taskList.add(new Event("trip", now.minusYears(1), now.minusYears(1).plusDays(2)));
+        taskList.add(new Deadline("next report", now.plusMonths(1)));
+        sharded.save(taskList);
+
+        assertTrue(Files.exists(tempDir.resolve("test_snow.txt.shards").resolve("manifest")));
+        TaskList loaded = new TaskList();
+        new ShardedStorage(testFilePath).load(loaded);
+        assertEquals(2, loaded.size());
+        assertEquals("read book", loaded.get(0).getDescription());
+        assertEquals("next report", loaded.get(1).getDescription());
+    }
+
+    @Test
+    void loadDateAndLoadAll_sharded_faultInOlderShardsInListOrder() throws Exception {
+        LocalDateTime old = LocalDateTime.now().minusYears(2);
+        ShardedStorage sharded = new ShardedStorage(testFilePath);
+        TaskList taskList = new TaskList();
+        taskList.add(new Deadline("first", old));
+        taskList.add(new Todo("second"));
+        taskList.add(new Deadline("third", old.minusMonths(3)));
+        sharded.save(taskList);
+
+        ShardedStorage reopened = new ShardedStorage(testFilePath);
+        TaskList loaded = new TaskList();
+        reopened.load(loaded);
+        assertEquals(1, loaded.size());
+
+        reopened.loadDate(loaded, old.toLocalDate());
+        assertEquals(2, loaded.size());
+        assertEquals("first", loaded.get(0).getDescription());
+
+        reopened.loadAll(loaded);
+        assertEquals(3, loaded.size());
+        assertEquals("third", loaded.get(2).getDescription());
+    }
+
+    @Test
+    void save_shardedPartiallyLoaded_keepsUnloadedShards() throws Exception {
+        LocalDateTime old = LocalDateTime.now().minusYears(2);
+        ShardedStorage sharded = new ShardedStorage(testFilePath);
+        TaskList taskList = new TaskList();
+        taskList.add(new Deadline("old", old));
+        taskList.add(new Todo("todo"));
+        sharded.save(taskList);
+
+        ShardedStorage reopened = new ShardedStorage(testFilePath);
+        TaskList partial = new TaskList();
+        reopened.load(partial);
+        Todo added = new Todo("added");
+        partial.add(added);
+        reopened.recordAdd(partial, added);
+        Deadline older = new Deadline("older", old.plusDays(1));
+        partial.add(older);
+        reopened.recordAdd(partial, older);
+
+        TaskList full = new TaskList();
+        ShardedStorage last = new ShardedStorage(testFilePath);
+        last.load(full);
+        last.loadAll(full);
+        assertEquals(4, full.size());
+        assertEquals("old", full.get(0).getDescription());
+        assertEquals("todo", full.get(1).getDescription());
+        assertEquals("added", full.get(2).getDescription());
+        assertEquals("older", full.get(3).getDescription());
+    }
+
+    @Test
+    void save_shardedGenerationCommittedElsewhere_refusesAndKeepsTheirShards() throws Exception {
+        TaskList taskList = new TaskList();
+        taskList.add(new Deadline("old", LocalDateTime.now().minusYears(2)));
+        new ShardedStorage(testFilePath).save(taskList);
+
+        ShardedStorage ours = new ShardedStorage(testFilePath);
+        TaskList ourList = new TaskList();
+        ours.load(ourList);
+        ShardedStorage theirs = new ShardedStorage(testFilePath);
+        TaskList theirList = new TaskList();
+        theirs.load(theirList);
+
+        Todo their = new Todo("theirs");
+        theirList.add(their);
+        theirs.recordAdd(theirList, their);
+        Todo our = new Todo("ours");
+        ourList.add(our);
+        assertThrows(SnowFileException.class, () -> ours.recordAdd(ourList, our));
+        assertThrows(SnowFileException.class, () -> ours.loadAll(ourList));
+
+        TaskList full = new TaskList();
+        ShardedStorage last = new ShardedStorage(testFilePath);
+        last.load(full);
+        last.loadAll(full);
+        assertEquals(2, full.size());
+        assertEquals("old", full.get(0).getDescription());
+        assertEquals("theirs", full.get(1).getDescription());
+    }
+
+    @Test
+    void load_shardedSaveInterruptedBeforeManifest_ignoresUncommittedShards() throws Exception {
+        ShardedStorage sharded = new ShardedStorage(testFilePath);
+        TaskList taskList = new TaskList();
+        taskList.add(new Todo("committed"));
+        sharded.save(taskList);
+
+        // A save that wrote its next generation but died before committing the manifest
+        Path dir = tempDir.resolve("test_snow.txt.shards");
+        Files.writeString(dir.resolve("undated.2.txt"), RecordChecksum.seal("0 | T | 0 | uncommitted") + "\n");
+        Files.writeString(dir.resolve("places.2"), RecordChecksum.seal("P | 1 | nowhere") + "\n");
+        Files.writeString(dir.resolve("2020-01.2.txt"),
+                RecordChecksum.seal("1 | D | 0 | old | 2020-01-02 1000") + "\n");
+
+        ShardedStorage reopened = new ShardedStorage(testFilePath);
+        TaskList loaded = new TaskList();
+        reopened.load(loaded);
+        assertEquals(1, loaded.size());
+        assertEquals("committed", loaded.get(0).getDescription());
+        assertTrue(PlaceRegistry.getPlaces().isEmpty());
+
+        loaded.add(new Todo("next"));
+        reopened.save(loaded);
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(Set.of("manifest", "places.2", "undated.2.txt"),
+                    files.map(file -> file.getFileName().toString()).collect(Collectors.toSet()));
+        }
+        TaskList reloaded = new TaskList();
+        new ShardedStorage(testFilePath).load(reloaded);
+        assertEquals(2, reloaded.size());
+        assertEquals("next", reloaded.get(1).getDescription());
+    }
+
+    @Test
+    void archive_oldCompletedTasks_movesThemOutButKeepsThemSearchable() throws Exception {
+        LocalDateTime old = LocalDateTime.now().minusDays(90);
+        TaskList taskList = new TaskList();
+        Deadline oldDone = new Deadline("old report", old);
+        oldDone.mark();
+        taskList.add(oldDone);
+        taskList.add(new Deadline("old pending report", old));
+        Todo doneTodo = new Todo("done chore");
+        doneTodo.mark();
+        taskList.add(doneTodo);
+        Deadline recentDone = new Deadline("recent report", LocalDateTime.now().minusDays(1));
+        recentDone.mark();
+        taskList.add(recentDone);
+
+        assertEquals(2, storage.archive(taskList, LocalDateTime.now().minusDays(30).toLocalDate()));
+        assertEquals(2, taskList.size());
+        assertTrue(Files.exists(Paths.get(testFilePath + ".archive.gz")));
+
+        TaskList loaded = new TaskList();
+        TextStorage reopened = new TextStorage(testFilePath);
+        reopened.load(loaded);
+        assertEquals(2, loaded.size());
+        assertEquals(1, reopened.findArchived("REPORT").size());
+        assertEquals(1, reopened.findArchived("chore").size());
+        assertEquals(1, reopened.findArchivedOnDate(old.toLocalDate()).size());
+    }
+
+    @Test
+    void findArchived_truncatedArchive_isSkippedWithoutFailingTheSearch() throws Exception {
+        TaskList taskList = new TaskList();
+        Todo doneTodo = new Todo("done chore");
+        doneTodo.mark();
+        taskList.add(doneTodo);
+        storage.archive(taskList, LocalDateTime.now().toLocalDate());
+        Path archivePath = Paths.get(testFilePath + ".archive.gz");
+        byte[] data = Files.readAllBytes(archivePath);
+        Files.write(archivePath, java.util.Arrays.copyOf(data, data.length - 10));
+
+        TextStorage reopened = new TextStorage(testFilePath);
+        assertTrue(reopened.findArchived("chore").isEmpty());
+        assertTrue(reopened.findArchivedOnDate(LocalDateTime.now().toLocalDate()).isEmpty());
+    }
+
+    @Test
+    void taskArchive_severalAppends_readsEveryMember() throws Exception {
+        TaskArchive archive = new TaskArchive(tempDir.resolve("tasks.archive.gz").toString());
+        archive.append(List.of(new Todo("first")));
+        archive.append(List.of(new Todo("second"), new Todo("third")));
+
+        TaskArchive reopened = new TaskArchive(tempDir.resolve("tasks.archive.gz").toString());
+        assertFalse(reopened.isOpen());
+        assertEquals(3, reopened.size());
+        assertTrue(reopened.isOpen());
+    }
+
+    @Test
+    void save_fileChangedByAnotherWriter_mergesBothChanges() throws Exception {
+        TaskList initial = new TaskList();
+        initial.add(new Todo("read book"));
+        initial.add(new Todo("write essay"));
+        storage.save(initial);
+
+        TextStorage first = new TextStorage(testFilePath);
+        TaskList firstList = new TaskList();
+        first.load(firstList);
+        TextStorage second = new TextStorage(testFilePath);
+        TaskList secondList = new TaskList();
+        second.load(secondList);
+
+        firstList.add(new Todo("go running"));
+        first.save(firstList);
+        secondList.mark(1);
+        secondList.remove(0);
+        second.save(secondList);
+
+        assertEquals(2, secondList.size());
+        TaskList loaded = new TaskList();
+        new TextStorage(testFilePath).load(loaded);
+        assertEquals(2, loaded.size());
+        assertEquals("write essay", loaded.get(0).getDescription());
+        assertTrue(loaded.get(0).isDone());
+        assertEquals("go running", loaded.get(1).getDescription());
+    }
+
+    @Test
+    void save_placeIdTakenByAnotherWriter_keepsTheirTasksAtTheirPlace() throws Exception {
+        Place library = PlaceRegistry.getPlace("library");
+        TaskList taskList = new TaskList();
+        Todo read = new Todo("read book");
+        read.setPlace(library);
+        taskList.add(read);
+        storage.save(taskList);
+
+        // Both sides create a place with the next id, 2
+        Files.writeString(Paths.get(testFilePath), RecordChecksum.seal(library.toSaveString()) + "\n"
+                + RecordChecksum.seal("P | 2 | gym") + "\n"
+                + RecordChecksum.seal(read.toSaveString()) + "\n"
+                + RecordChecksum.seal("T | 0 | lift weights | at=gym | pid=2") + "\n");
+        Place pool = PlaceRegistry.getPlace("pool");
+        assertEquals(2, pool.getId());
+        Todo swim = new Todo("swim");
+        swim.setPlace(pool);
+        taskList.add(swim);
+        storage.save(taskList);
+
+        assertEquals(3, taskList.size());
+        assertEquals("lift weights", taskList.get(2).getDescription());
+        assertEquals("gym", taskList.get(2).getPlace().getName());
+        assertEquals("pool", taskList.get(1).getPlace().getName());
+        PlaceRegistry.clearPlaces();
+        TaskList loaded = new TaskList();
+        new TextStorage(testFilePath).load(loaded);
+        assertEquals("library", loaded.get(0).getPlace().getName());
+        assertEquals("pool", loaded.get(1).getPlace().getName());
+        assertEquals("gym", loaded.get(2).getPlace().getName());
+    }
+
+    @Test
+    void recordAdd_journaledFileChangedByAnotherWriter_savesMergedList() throws Exception {
+        JournaledStorage first = new JournaledStorage(testFilePath);
+        TaskList firstList = new TaskList();
+        first.load(firstList);
+        JournaledStorage second = new JournaledStorage(testFilePath);
+        TaskList secondList = new TaskList();
+        second.load(secondList);
+
+        Todo fromFirst = new Todo("from first");
+        firstList.add(fromFirst);
+        first.recordAdd(firstList, fromFirst);
+        Todo fromSecond = new Todo("from second");
+        secondList.add(fromSecond);
+        second.recordAdd(secondList, fromSecond);
+
+        assertEquals(2, secondList.size());
+        TaskList loaded = new TaskList();
+        new JournaledStorage(testFilePath).load(loaded);
+        assertEquals(2, loaded.size());
+        assertEquals("from second", loaded.get(0).getDescription());
+        assertEquals("from first", loaded.get(1).getDescription());
+    }
+
+    @Test
+    void taskMerge_statusChangedByThem_appliesToOurTaskInPlace() {
+        Todo theirsMarked = new Todo("read book");
+        theirsMarked.mark();
+        List<String> theirs = List.of(theirsMarked.toSaveString(), new Todo("write essay").toSaveString());
+        List<String> base = List.of(new Todo("read book").toSaveString(), new Todo("write essay").toSaveString());
+        TaskList ours = new TaskList();
+        Todo ourTodo = new Todo("read book");
+        ours.add(ourTodo);
+        ours.add(new Todo("write essay"));
+        ours.add(new Todo("go running"));
+
+        TaskMerge.merge(base, theirs, ours);
+
+        assertEquals(3, ours.size());
+        assertTrue(ours.get(0) == ourTodo);
+        assertTrue(ourTodo.isDone());
+        assertFalse(ours.get(1).isDone());
+    }
+
+    @Test
+    void reloadChanges_externalEdit_keepsUnchangedTasks() throws Exception {
+        TaskList taskList = new TaskList();
+        Todo read = new Todo("read book");
+        Todo write = new Todo("write essay");
+        Todo run = new Todo("go running");
+        taskList.add(read);
+        taskList.add(write);
+        taskList.add(run);
+        storage.save(taskList);
+        assertFalse(storage.reloadChanges(taskList));
+
+        Files.writeString(Paths.get(testFilePath), "T | 1 | read book | at= | pid=-1\n"
+                + "T | 0 | go running | at= | pid=-1\n"
+                + "T | 0 | swim | at= | pid=-1\n");
+
+        assertTrue(storage.reloadChanges(taskList));
+        assertEquals(3, taskList.size());
+        assertTrue(taskList.get(0) == read);
+        assertTrue(read.isDone());
+        assertTrue(taskList.get(1) == run);
+        assertEquals("swim", taskList.get(2).getDescription());
+        assertFalse(storage.reloadChanges(taskList));
+    }
+
+    @Test
+    void reloadChanges_journaledByAnotherWriter_continuesJournalAfterTheirs() throws Exception {
+        JournaledStorage first = new JournaledStorage(testFilePath);
+        TaskList firstList = new TaskList();
+        first.load(firstList);
+        JournaledStorage second = new JournaledStorage(testFilePath);
+        TaskList secondList = new TaskList();
+        second.load(secondList);
+        for (int i = 0; i < 3; i++) {
+            Todo todo = new Todo("from second " + i);
+            secondList.add(todo);
+            second.recordAdd(secondList, todo);
+        }
+
+        assertTrue(first.reloadChanges(firstList));
+        Todo fromFirst = new Todo("from first");
+        firstList.add(fromFirst);
+        first.recordAdd(firstList, fromFirst);
+
+        TaskList loaded = new TaskList();
+        new JournaledStorage(testFilePath).load(loaded);
+        assertEquals(4, loaded.size());
+        assertEquals("from first", loaded.get(3).getDescription());
+    }
+
+    @Test
+    void watch_externalEdit_reloadsInBackground() throws Exception {
+        TaskList taskList = new TaskList();
+        taskList.add(new Todo("read book"));
+        storage.save(taskList);
+        CountDownLatch reloaded = new CountDownLatch(1);
+        storage.watch(taskList, reloaded::countDown);
+
+        Files.writeString(Paths.get(testFilePath), "T | 0 | read book\nT | 0 | swim\n");
+
+        assertTrue(reloaded.await(5, TimeUnit.SECONDS));
+        synchronized (taskList) {
+            assertEquals(2, taskList.size());
+        }
+    }
+
+    @Test
+    void exportThenImport_csvAndJsonLines_roundTripsTasks() throws Exception {
+        TaskList taskList = new TaskList();
+        Todo quoted = new Todo("buy \"milk\", eggs");
+        quoted.mark();
+        taskList.add(quoted);
+        Deadline report = new Deadline("report", LocalDateTime.of(2024, 1, 31, 23, 59));
+        report.setPlace(PlaceRegistry.getPlace("office"));
+        taskList.add(report);
+        taskList.add(new Event("trip", LocalDateTime.of(2024, 2, 1, 9, 0), LocalDateTime.of(2024, 2, 3, 18, 0)));
+
+        for (String name : List.of("tasks.csv", "tasks.jsonl")) {
+            String path = tempDir.resolve(name).toString();
+            assertEquals(3, storage.exportTasks(taskList, path).getRecordCount());
+
+            TaskList imported = new TaskList();
+            TextStorage target = new TextStorage(tempDir.resolve("imported_" + name + ".txt").toString());
+            TransferReport transfer = target.importTasks(imported, path);
+            assertEquals(3, transfer.getRecordCount());
+            assertEquals(0, transfer.getSkippedCount());
+            for (int i = 0; i < taskList.size(); i++) {
+                assertEquals(taskList.get(i).toSaveString(), imported.get(i).toSaveString());
+            }
+        }
+    }
+
+    @Test
+    void importTasks_badRecords_skipsThemAndSavesOnce() throws Exception {
+        Path csv = tempDir.resolve("tasks.csv");
+        Files.writeString(csv, "type,done,description,date,end,place\n"
+                + "T,0,read book,,,\n"
+                + "D,1,report,not a date,,\n"
+                + "X,0,unknown type,,,\n"
+                + "E,0,\"trip, long\",2024-02-01T09:00,2024-02-03T18:00,beach\n");
+        TaskList taskList = new TaskList();
+        storage.load(taskList);
+
+        TransferReport transfer = storage.importTasks(taskList, csv.toString());
+
+        assertEquals(2, transfer.getRecordCount());
+        assertEquals(2, transfer.getSkippedCount());
+        assertEquals("trip, long", taskList.get(1).getDescription());
+        assertEquals("beach", taskList.get(1).getPlace().getName());
+        TaskList loaded = new TaskList();
+        new TextStorage(testFilePath).load(loaded);
+        assertEquals(2, loaded.size());
+    }
+
+    @Test
+    void importTasks_failsPartway_leavesListAndFileUnchanged() throws Exception {
+        Path csv = tempDir.resolve("broken.csv");
+        StringBuilder records = new StringBuilder("type,done,description,date,end,place\n");
+        for (int i = 0; i < 10_000; i++) {
+            records.append("T,0,task ").append(i).append(",,,\n");
+        }
+        byte[] valid = records.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        byte[] data = java.util.Arrays.copyOf(valid, valid.length + 1);
+        data[valid.length] = (byte) 0xff;
+        Files.write(csv, data);
+        TaskList taskList = new TaskList();
+        taskList.add(new Todo("read book"));
+        storage.save(taskList);
+
+        assertThrows(SnowFileException.class, () -> storage.importTasks(taskList, csv.toString()));
+
+        assertEquals(1, taskList.size());
+        TaskList loaded = new TaskList();
+        new TextStorage(testFilePath).load(loaded);
+        assertEquals(1, loaded.size());
+    }
 }
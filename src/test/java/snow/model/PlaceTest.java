@@ -1,6 +1,6 @@
 package snow.model;
 
-import snow.io.Storage;
+import snow.io.TextStorage;
 
 /**
  * Simple test to verify place persistence.
@@ -20,7 +20,7 @@ public class PlaceTest {
         tasks.add(task);
 
         // Save to file
-        Storage storage = new Storage("data/test-snow.txt");
+        TextStorage storage = new TextStorage("data/test-snow.txt");
         try {
             storage.save(tasks);
             System.out.println("Saved tasks and places to file");
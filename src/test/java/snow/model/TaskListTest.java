@@ -204,4 +204,225 @@ public class TaskListTest {
         List<Task> allTasks = list.find("e"); // Should match multiple
         assertTrue(allTasks.size() >= 2); // "read", "meeting", etc.
     }
+
+    @Test
+    void snapshot_unaffectedByLaterChanges() throws SnowTaskException {
+        list.add(todo);
+        list.add(deadline);
+        TaskList snapshot = list.snapshot();
+
+        list.add(event);
+        list.mark(0);
+        list.remove(1);
+
+        assertEquals(2, snapshot.size());
+        assertEquals(todo, snapshot.get(0));
+        assertEquals(deadline, snapshot.get(1));
+        assertFalse(snapshot.isDone(0));
+        assertEquals("T | 0 | read book | at= | pid=-1", snapshot.toSaveString(0));
+        assertEquals(2, list.size());
+        assertTrue(list.isDone(0));
+    }
+
+    @Test
+    void snapshot_isReadOnly() {
+        list.add(todo);
+        TaskList snapshot = list.snapshot();
+
+        assertTrue(snapshot.isReadOnly());
+        assertFalse(list.isReadOnly());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(deadline));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.mark(0));
+        assertThrows(UnsupportedOperationException.class, snapshot::clear);
+    }
+
+    @Test
+    void restore_undoesChangesMadeAfterSnapshot() throws Exception {
+        list.add(todo);
+        list.add(deadline);
+        TaskList before = list.snapshot();
+
+        list.mark(0);
+        list.remove(1);
+        list.add(event);
+        list.restore(before);
+
+        assertEquals(2, list.size());
+        assertEquals(todo, list.get(0));
+        assertEquals(deadline, list.get(1));
+        assertFalse(todo.isDone());
+        assertFalse(list.isDone(0));
+
+        list.mark(1);
+        assertTrue(deadline.isDone());
+        assertFalse(before.isDone(1));
+    }
+
+    @Test
+    void findWords_matchesWholeWordsInAnyOrder() throws Exception {
+        list.add(todo);
+        list.add(deadline);
+        list.add(new Todo("Book a READING room"));
+
+        assertEquals(List.of(todo), list.findWords("read"));
+        assertEquals(List.of(todo), list.findWords("BOOK read"));
+        assertEquals(List.of(todo, list.get(2)), list.findWords("book"));
+        assertTrue(list.findWords("assign").isEmpty());
+        assertTrue(list.findWords("  ").isEmpty());
+
+        list.remove(0);
+        assertEquals(List.of(list.get(1)), list.findWords("book"));
+        assertEquals(list.findWords("book"), list.snapshot().findWords("book"));
+    }
+
+    @Test
+    void findWords_followsRestore() throws Exception {
+        list.add(todo);
+        TaskList before = list.snapshot();
+        list.add(event);
+        list.remove(0);
+
+        list.restore(before);
+
+        assertEquals(List.of(todo), list.findWords("book"));
+        assertTrue(list.findWords("meeting").isEmpty());
+    }
+
+    @Test
+    void find_withTrigramIndex_matchesScan() throws Exception {
+        String[] words = {"Read", "book", "BUY", "milk", "caf\u00e9", "Call", "mom", "e", "ee"};
+        java.util.Random random = new java.util.Random(7);
+        for (int i = 0; i < 3000; i++) {
+            list.add(new Todo(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]
+                    + " no." + i));
+        }
+        String[] keywords = {"read", "BOOK", "k m", "CAF\u00c9", "caf\u00e9", "no.12", "eee", "e", "zzz", "ad book"};
+        for (int round = 0; round < 2; round++) {
+            for (String keyword : keywords) {
+                assertEquals(list.snapshot().find(keyword), list.find(keyword), keyword);
+            }
+            // Remove enough tasks to rebuild the index before the second round
+            for (int i = list.size() * 2 / 3; i > 0; i--) {
+                list.remove(random.nextInt(list.size()));
+            }
+            list.add(todo);
+        }
+    }
+
+    @Test
+    void findTaskWithDate_withDateIndex_matchesScan() throws Exception {
+        java.util.Random random = new java.util.Random(11);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime start = base.plusHours(random.nextInt(24 * 60));
+            switch (random.nextInt(3)) {
+            case 0:
+                list.add(new Todo("todo " + i));
+                break;
+            case 1:
+                list.add(new Deadline("deadline " + i, start));
+                break;
+            default:
+                list.add(new Event("event " + i, start, start.plusHours(random.nextInt(24 * 10))));
+                break;
+            }
+        }
+        for (int round = 0; round < 2; round++) {
+            for (int day = 0; day < 75; day++) {
+                LocalDate date = LocalDate.of(2023, 12, 28).plusDays(day);
+                assertEquals(list.snapshot().findTaskWithDate(date), list.findTaskWithDate(date), date.toString());
+            }
+            for (int i = list.size() / 2; i > 0; i--) {
+                list.remove(random.nextInt(list.size()));
+            }
+            list.add(event);
+            list.add(deadline);
+        }
+    }
+
+    @Test
+    void findTasksBetween_returnsOverlappingTasksInChronologicalOrder() throws Exception {
+        Deadline early = new Deadline("early", LocalDateTime.of(2023, 12, 20, 8, 0));
+        Event spanning = new Event("trip", LocalDateTime.of(2023, 12, 22, 9, 0), LocalDateTime.of(2023, 12, 27, 18, 0));
+        list.add(todo);
+        list.add(deadline);
+        list.add(event);
+        list.add(early);
+        list.add(spanning);
+
+        List<Task> expected = List.of(spanning, event, deadline);
+        LocalDate from = LocalDate.of(2023, 12, 25);
+        LocalDate to = LocalDate.of(2023, 12, 31);
+        assertEquals(expected, list.findTasksBetween(from, to));
+        assertEquals(expected, list.snapshot().findTasksBetween(from, to));
+        assertEquals(List.of(early), list.findTasksBetween(LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 21)));
+    }
+
+    @Test
+    void findOverdue_returnsUndoneTasksThatHavePassed() throws Exception {
+        Deadline early = new Deadline("early", LocalDateTime.of(2023, 12, 20, 8, 0));
+        list.add(todo);
+        list.add(deadline);
+        list.add(event);
+        list.add(early);
+        list.mark(2);
+
+        assertEquals(List.of(early, deadline), list.findOverdue(LocalDateTime.of(2024, 1, 1, 0, 0)));
+        assertEquals(List.of(early), list.findOverdue(LocalDateTime.of(2023, 12, 31, 23, 59)));
+        assertTrue(list.findOverdue(LocalDateTime.of(2023, 12, 20, 8, 0)).isEmpty());
+    }
+
+    @Test
+    void columnarTaskStore_rebuildsEqualTasks() {
+        Place library = PlaceRegistry.getPlace("library");
+        Event precise = new Event("caf\u00e9 run", LocalDateTime.of(2024, 3, 1, 8, 0, 30, 500),
+                LocalDateTime.of(2024, 3, 2, 8, 0));
+        todo.setPlace(library);
+        deadline.mark();
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        for (Task task : List.of(todo, deadline, event, precise)) {
+            store.add(task);
+        }
+
+        assertEquals(4, store.size());
+        assertEquals(todo.toString(), store.get(0).toString());
+        assertEquals(library, store.get(0).getPlace());
+        assertTrue(store.isDone(1));
+        assertEquals(deadline.toSaveString(), store.get(1).toSaveString());
+        assertEquals(event.toSaveString(), store.get(2).toSaveString());
+        assertEquals(precise.getFromDate(), ((Event) store.get(3)).getFromDate());
+        assertEquals(precise.getDescription(), store.get(3).getDescription());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(4));
+    }
+
+    @Test
+    void columnarTaskStore_findsAsTaskListScans() throws Exception {
+        String[] words = {"Read", "book", "BUY", "milk", "caf\u00e9", "Call", "mom", "e"};
+        java.util.Random random = new java.util.Random(13);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        for (int i = 0; i < 1000; i++) {
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+            LocalDateTime start = base.plusHours(random.nextInt(24 * 30));
+            Task task = switch (random.nextInt(3)) {
+            case 0 -> new Todo(name);
+            case 1 -> new Deadline(name, start);
+            default -> new Event(name, start, start.plusHours(random.nextInt(24 * 5)));
+            };
+            list.add(task);
+            store.add(task);
+        }
+        for (String keyword : new String[] {"read", "BOOK", "k m", "CAF\u00c9", "e", "zzz"}) {
+            assertEquals(saveStrings(list.snapshot().find(keyword)), saveStrings(store.find(keyword)), keyword);
+        }
+        for (int day = 0; day < 40; day++) {
+            LocalDate date = LocalDate.of(2023, 12, 29).plusDays(day);
+            assertEquals(saveStrings(list.snapshot().findTaskWithDate(date)),
+                    saveStrings(store.findTaskWithDate(date)), date.toString());
+        }
+    }
+
+    private static List<String> saveStrings(List<Task> tasks) {
+        return tasks.stream().map(Task::toSaveString).collect(java.util.stream.Collectors.toList());
+    }
 }